@@ -0,0 +1,24 @@
+package com.blogapi.loadtest;
+
+/**
+ * Knobs shared by the simulations, read from {@code -D} system properties.
+ */
+final class LoadTestSettings {
+
+    static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+
+    static final int CATEGORIES = Integer.getInteger("categories", 20);
+    static final int POSTS = Integer.getInteger("posts", 1_000_000);
+    static final int COMMENTS_PER_POST = Integer.getInteger("commentsPerPost", 10);
+
+    static final double USERS_PER_SECOND = Double.parseDouble(System.getProperty("usersPerSec", "50"));
+    static final int RAMP_SECONDS = Integer.getInteger("rampSeconds", 30);
+    static final int DURATION_SECONDS = Integer.getInteger("durationSeconds", 120);
+    static final int SEED_CONCURRENCY = Integer.getInteger("seedConcurrency", 32);
+
+    static final int MAX_P99_MILLIS = Integer.getInteger("maxP99Millis", 500);
+    static final double MAX_FAILED_PERCENT = Double.parseDouble(System.getProperty("maxFailedPercent", "1"));
+
+    private LoadTestSettings() {
+    }
+}
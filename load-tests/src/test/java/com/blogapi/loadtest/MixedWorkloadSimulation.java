@@ -0,0 +1,76 @@
+package com.blogapi.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static com.blogapi.loadtest.LoadTestSettings.*;
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Mixed read/write traffic against a seeded instance: feed paging, post detail, comment bursts
+ * and category browsing. Each request type is named after its endpoint so the report shows
+ * throughput and latency percentiles per endpoint. The run fails when the global p99 or the
+ * error rate exceeds {@code maxP99Millis} / {@code maxFailedPercent}.
+ */
+public class MixedWorkloadSimulation extends Simulation {
+
+    private final HttpProtocolBuilder protocol = http.baseUrl(BASE_URL)
+            .contentTypeHeader("application/json")
+            .acceptHeader("application/json");
+
+    private final Iterator<Map<String, Object>> ids = Stream.generate(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Map.<String, Object>of(
+                "postId", 1 + random.nextInt(POSTS),
+                "categoryId", 1 + random.nextInt(CATEGORIES),
+                "page", random.nextInt(100),
+                "author", "load-" + random.nextInt(1_000));
+    }).iterator();
+
+    private final ChainBuilder feedPaging = repeat(5).on(
+            feed(ids).exec(http("GET /api/posts").get("/api/posts?page=#{page}&size=10&sort=createdAt,desc")
+                    .check(status().is(200)))
+                    .pause(0, 1));
+
+    private final ChainBuilder postDetail = feed(ids)
+            .exec(http("GET /api/posts/{id}").get("/api/posts/#{postId}").check(status().is(200)))
+            .exec(http("GET /api/posts/{id}/comments").get("/api/posts/#{postId}/comments").check(status().is(200)));
+
+    private final ChainBuilder commentBurst = feed(ids)
+            .repeat(session -> ThreadLocalRandom.current().nextInt(5, 21), "k").on(
+                    exec(http("POST /api/posts/{id}/comments").post("/api/posts/#{postId}/comments")
+                            .body(StringBody("{\"content\":\"Burst comment #{k}\",\"author\":\"#{author}\"}"))
+                            .check(status().is(201))));
+
+    private final ChainBuilder categoryBrowsing = feed(ids)
+            .exec(http("GET /api/categories").get("/api/categories").check(status().is(200)))
+            .pause(0, 1)
+            .exec(http("GET /api/posts/category/{id}").get("/api/posts/category/#{categoryId}")
+                    .check(status().is(200)));
+
+    private final ScenarioBuilder mixed = scenario("mixed workload")
+            .randomSwitch().on(
+                    percent(45.0).then(feedPaging),
+                    percent(30.0).then(postDetail),
+                    percent(10.0).then(commentBurst),
+                    percent(15.0).then(categoryBrowsing));
+
+    {
+        setUp(mixed.injectOpen(
+                rampUsersPerSec(1).to(USERS_PER_SECOND).during(RAMP_SECONDS),
+                constantUsersPerSec(USERS_PER_SECOND).during(DURATION_SECONDS)))
+                .protocols(protocol)
+                .assertions(
+                        global().responseTime().percentile4().lt(MAX_P99_MILLIS),
+                        global().failedRequests().percent().lt(MAX_FAILED_PERCENT));
+    }
+}
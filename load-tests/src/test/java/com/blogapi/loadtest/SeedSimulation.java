@@ -0,0 +1,67 @@
+package com.blogapi.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static com.blogapi.loadtest.LoadTestSettings.*;
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Fills an empty database through the public API: {@code categories} categories, then
+ * {@code posts} posts with {@code commentsPerPost} comments each, created by
+ * {@code seedConcurrency} parallel virtual users. Category and post ids are assumed to start at 1,
+ * which holds for a fresh dev H2 database.
+ */
+public class SeedSimulation extends Simulation {
+
+    private final HttpProtocolBuilder protocol = http.baseUrl(BASE_URL)
+            .contentTypeHeader("application/json")
+            .acceptHeader("application/json")
+            .shareConnections();
+
+    private final AtomicLong nextPost = new AtomicLong();
+
+    private final Iterator<Map<String, Object>> posts = Stream.generate(() -> {
+        long n = nextPost.incrementAndGet();
+        SplittableRandom random = new SplittableRandom(n);
+        return Map.<String, Object>of(
+                "n", n,
+                "categoryId", 1 + random.nextInt(CATEGORIES),
+                "author", "author-" + random.nextInt(5_000));
+    }).iterator();
+
+    private final ScenarioBuilder seedCategories = scenario("seed categories")
+            .repeat(CATEGORIES, "c").on(
+                    exec(http("create category").post("/api/categories")
+                            .body(StringBody("{\"name\":\"Category #{c}\",\"description\":\"Seeded category #{c}\"}"))
+                            .check(status().is(201))));
+
+    private final ScenarioBuilder seedPosts = scenario("seed posts")
+            .repeat(POSTS / SEED_CONCURRENCY).on(
+                    feed(posts)
+                            .exec(http("create post").post("/api/posts")
+                                    .body(StringBody("{\"title\":\"Seeded post #{n}\","
+                                            + "\"content\":\"Body of seeded post #{n} #seed #load\","
+                                            + "\"author\":\"#{author}\",\"categoryId\":#{categoryId}}"))
+                                    .check(status().is(201), jsonPath("$.id").saveAs("postId")))
+                            .repeat(COMMENTS_PER_POST, "k").on(
+                                    exec(http("create comment").post("/api/posts/#{postId}/comments")
+                                            .body(StringBody("{\"content\":\"Comment #{k} on post #{n}\","
+                                                    + "\"author\":\"#{author}\"}"))
+                                            .check(status().is(201)))));
+
+    {
+        setUp(seedCategories.injectOpen(atOnceUsers(1))
+                .andThen(seedPosts.injectOpen(atOnceUsers(SEED_CONCURRENCY))))
+                .protocols(protocol);
+    }
+}
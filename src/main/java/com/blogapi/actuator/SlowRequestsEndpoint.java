@@ -0,0 +1,33 @@
+package com.blogapi.actuator;
+
+import com.blogapi.tracing.SlowRequest;
+import com.blogapi.tracing.SlowRequestLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Lists the most recent slow API requests with their controller, service, SQL and serialization
+ * spans at {@code /actuator/slowrequests}; {@code DELETE} clears the list.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return slowRequestLog.recent();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowRequestLog.clear();
+    }
+}
@@ -0,0 +1,36 @@
+package com.blogapi.actuator;
+
+import com.blogapi.service.CacheWarmUpService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} at {@code /actuator/health} and {@code /actuator/health/readiness}
+ * until the startup warm-up has finished, so load balancers hold traffic back until categories and
+ * the hot and recent posts can be read from the cache. It says nothing about list queries, which
+ * are not cached. A failed warm-up reports {@code UP}: the instance can still serve, only more slowly.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    @Override
+    public Health health() {
+        CacheWarmUpService.Status status = cacheWarmUpService.getStatus();
+        Health.Builder builder = switch (status.state()) {
+            case PENDING, WARMING -> Health.outOfService();
+            case WARM, FAILED, DISABLED -> Health.up();
+        };
+        return builder
+                .withDetail("state", status.state())
+                .withDetail("categories", status.categories())
+                .withDetail("posts", status.posts())
+                .withDetail("hotPosts", status.hotPosts())
+                .withDetail("millis", status.millis())
+                .build();
+    }
+}
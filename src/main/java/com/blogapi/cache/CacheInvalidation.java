@@ -0,0 +1,25 @@
+package com.blogapi.cache;
+
+/**
+ * A change that other nodes have to drop from their caches, tagged with the node that made it.
+ */
+public record CacheInvalidation(String origin, Type type, Long id) {
+
+    public enum Type {
+        POST,
+        CATEGORY,
+        POST_COMMENTS
+    }
+
+    String encode() {
+        return origin + ":" + type.name() + ":" + id;
+    }
+
+    static CacheInvalidation decode(String value) {
+        String[] parts = value.split(":", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cache invalidation: " + value);
+        }
+        return new CacheInvalidation(parts[0], Type.valueOf(parts[1]), Long.valueOf(parts[2]));
+    }
+}
@@ -0,0 +1,115 @@
+package com.blogapi.cache;
+
+import com.blogapi.model.entity.Category;
+import com.blogapi.model.entity.Post;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Publishes writes to the other nodes and evicts the second-level cache entries that remote
+ * writes made stale. Hibernate already keeps the local cache coherent for entity operations,
+ * so a node ignores its own invalidations.
+ * Stays eager under lazy initialization so the node listens from startup.
+ */
+@Component
+@Lazy(false)
+@Slf4j
+public class CacheInvalidationBus {
+
+    private static final String CATEGORY_POSTS = Category.class.getName() + ".posts";
+    private static final String POST_COMMENTS = Post.class.getName() + ".comments";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final InvalidationTransport transport;
+    private final EntityManagerFactory entityManagerFactory;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(InvalidationTransport transport, EntityManagerFactory entityManagerFactory) {
+        this.transport = transport;
+        this.entityManagerFactory = entityManagerFactory;
+        transport.subscribe(this::evict);
+    }
+
+    /**
+     * Registers a callback for every committed change on this node and every remote change
+     * received, after the cache entries were evicted.
+     */
+    public void addListener(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    public void postChanged(Long postId) {
+        publish(new CacheInvalidation(nodeId, CacheInvalidation.Type.POST, postId));
+    }
+
+    public void categoryChanged(Long categoryId) {
+        publish(new CacheInvalidation(nodeId, CacheInvalidation.Type.CATEGORY, categoryId));
+    }
+
+    public void commentsChanged(Long postId) {
+        publish(new CacheInvalidation(nodeId, CacheInvalidation.Type.POST_COMMENTS, postId));
+    }
+
+    /**
+     * Sends the invalidation once the surrounding transaction commits, so other nodes cannot
+     * reload the old row before the change is visible.
+     */
+    private void publish(CacheInvalidation invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    transport.send(invalidation);
+                    notifyListeners(invalidation);
+                }
+            });
+        } else {
+            transport.send(invalidation);
+            notifyListeners(invalidation);
+        }
+    }
+
+    void evict(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        log.debug("Evicting {}", invalidation);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        switch (invalidation.type()) {
+            case POST -> {
+                cache.evictEntityData(Post.class, invalidation.id());
+                // The post may have moved between categories
+                cache.evictCollectionData(CATEGORY_POSTS);
+                cache.evictDefaultQueryRegion();
+            }
+            case CATEGORY -> {
+                cache.evictEntityData(Category.class, invalidation.id());
+                cache.evictCollectionData(CATEGORY_POSTS, invalidation.id());
+                cache.evictDefaultQueryRegion();
+            }
+            case POST_COMMENTS -> cache.evictCollectionData(POST_COMMENTS, invalidation.id());
+        }
+        notifyListeners(invalidation);
+    }
+
+    private void notifyListeners(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException ex) {
+                log.warn("Cache invalidation listener failed for {}", invalidation, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.blogapi.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between the nodes of a deployment.
+ */
+public interface InvalidationTransport {
+
+    void send(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,100 @@
+package com.blogapi.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Sends each invalidation as one UDP datagram to a multicast group that every node has joined.
+ * Delivery is best effort; a lost datagram leaves the entry to expire with its region's TTL.
+ */
+@Slf4j
+public class MulticastTransport implements InvalidationTransport, AutoCloseable {
+
+    private static final int MAX_PACKET_SIZE = 512;
+
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final InetSocketAddress group;
+    private final NetworkInterface networkInterface;
+    private final MulticastSocket socket;
+    private final Thread receiver;
+
+    public MulticastTransport(String address, int port, int timeToLive, String interfaceName) {
+        try {
+            this.group = new InetSocketAddress(InetAddress.getByName(address), port);
+            this.networkInterface = interfaceName == null || interfaceName.isBlank()
+                    ? null : NetworkInterface.getByName(interfaceName);
+            this.socket = new MulticastSocket(port);
+            socket.setTimeToLive(timeToLive);
+            if (networkInterface != null) {
+                socket.setNetworkInterface(networkInterface);
+            }
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not join multicast group " + address + ":" + port, ex);
+        }
+        this.receiver = new Thread(this::receive, "cache-invalidation-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    public void send(CacheInvalidation invalidation) {
+        byte[] payload = invalidation.encode().getBytes(StandardCharsets.UTF_8);
+        try {
+            socket.send(new DatagramPacket(payload, payload.length, group));
+        } catch (IOException ex) {
+            log.warn("Could not send cache invalidation {}", invalidation, ex);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.leaveGroup(group, networkInterface);
+        } catch (IOException ex) {
+            log.debug("Could not leave multicast group", ex);
+        }
+        socket.close();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_PACKET_SIZE];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (SocketException ex) {
+                return;
+            } catch (IOException ex) {
+                log.warn("Could not receive cache invalidation", ex);
+                continue;
+            }
+            String message = new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+            try {
+                CacheInvalidation invalidation = CacheInvalidation.decode(message);
+                for (Consumer<CacheInvalidation> listener : listeners) {
+                    listener.accept(invalidation);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Ignoring malformed cache invalidation '{}'", message, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.blogapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor postProcessingExecutor(
+            @Value("${blog.processing.threads:2}") int threads,
+            @Value("${blog.processing.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("post-processing-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor warmUpExecutor(@Value("${blog.warmup.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        // Only busy during startup
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("warm-up-");
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor shardScatterExecutor(@Value("${blog.sharding.scatter-threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("shard-scatter-");
+        return executor;
+    }
+}
@@ -0,0 +1,29 @@
+package com.blogapi.config;
+
+import com.blogapi.cache.InvalidationTransport;
+import com.blogapi.cache.LoopbackTransport;
+import com.blogapi.cache.MulticastTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.cache.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+    public InvalidationTransport loopbackTransport() {
+        return new LoopbackTransport();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "blog.cache.invalidation.transport", havingValue = "multicast")
+    public InvalidationTransport multicastTransport(
+            @Value("${blog.cache.invalidation.multicast.address:239.255.42.99}") String address,
+            @Value("${blog.cache.invalidation.multicast.port:45566}") int port,
+            @Value("${blog.cache.invalidation.multicast.ttl:1}") int timeToLive,
+            @Value("${blog.cache.invalidation.multicast.interface:}") String interfaceName) {
+        return new MulticastTransport(address, port, timeToLive, interfaceName);
+    }
+}
@@ -0,0 +1,41 @@
+package com.blogapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the time from JVM start until the first request has been served, published as
+ * the {@code application.first.request.time} gauge.
+ */
+@Component
+@Slf4j
+public class FirstRequestTimer {
+
+    private final AtomicLong timeToFirstRequest = new AtomicLong(-1);
+
+    public FirstRequestTimer(MeterRegistry meterRegistry) {
+        TimeGauge.builder("application.first.request.time", timeToFirstRequest, TimeUnit.MILLISECONDS,
+                        AtomicLong::get)
+                .description("Time from JVM start until the first HTTP request completed")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (timeToFirstRequest.get() >= 0) {
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        if (timeToFirstRequest.compareAndSet(-1, elapsed)) {
+            log.info("Time to first request: {} ms ({} {})", elapsed, event.getMethod(), event.getRequestUrl());
+        }
+    }
+}
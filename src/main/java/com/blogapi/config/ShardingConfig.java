@@ -0,0 +1,116 @@
+package com.blogapi.config;
+
+import com.blogapi.cache.CacheInvalidationBus;
+import com.blogapi.sharding.HibernateMetadataCapture;
+import com.blogapi.sharding.ShardCategoryReplicator;
+import com.blogapi.sharding.ShardRouter;
+import com.blogapi.sharding.ShardRoutingAspect;
+import com.blogapi.sharding.ShardRoutingDataSource;
+import com.blogapi.sharding.ShardSchemaInitializer;
+import com.blogapi.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-category sharding. The configured {@code spring.datasource} stays the default shard; each
+ * entry of {@code blog.sharding.shards} adds a pool, and the primary data source routes every
+ * connection to the shard chosen for the current call. Without {@code blog.sharding.enabled} only
+ * the router is created, and it knows the default shard alone.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.sharding.enabled", havingValue = "true")
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ShardingProperties properties,
+                                 Environment environment) {
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            // An open session holds the connection it got first, and so its shard, for the whole request
+            throw new IllegalStateException("blog.sharding.enabled requires spring.jpa.open-in-view=false");
+        }
+        Binder binder = Binder.get(environment);
+        HikariDataSource defaultShard = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(defaultShard));
+
+        Map<String, DataSource> shards = new HashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            // Shards share the default pool's Hikari settings, such as auto-commit
+            HikariDataSource pool = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setJdbcUrl(shard.getUrl());
+            pool.setUsername(shard.getUsername());
+            pool.setPassword(shard.getPassword());
+            pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+            pool.setPoolName("shard-" + shard.getName());
+            shards.put(shard.getName(), pool);
+        }
+        return new ShardRoutingDataSource(defaultShard, shards);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.sharding.enabled", havingValue = "true")
+    public HibernateMetadataCapture hibernateMetadataCapture() {
+        return new HibernateMetadataCapture();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.sharding.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer shardMetadataCustomizer(HibernateMetadataCapture metadataCapture) {
+        return hibernateProperties -> hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(metadataCapture));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.sharding.enabled", havingValue = "true")
+    public ShardCategoryReplicator shardCategoryReplicator(DataSource dataSource, ShardRouter shardRouter,
+                                                           CacheInvalidationBus cacheInvalidationBus) {
+        return new ShardCategoryReplicator(ShardRoutingDataSource.of(dataSource), shardRouter,
+                cacheInvalidationBus);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.sharding.enabled", havingValue = "true")
+    public ShardRoutingAspect shardRoutingAspect(ShardRouter shardRouter,
+                                                 ObjectProvider<ShardCategoryReplicator> shardCategoryReplicator) {
+        // Resolved on first use, so building the aspect does not pull in the data source
+        return new ShardRoutingAspect(shardRouter, shardCategoryReplicator);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.sharding.enabled", havingValue = "true")
+    @Lazy(false)
+    public ShardSchemaInitializer shardSchemaInitializer(
+            ShardRouter shardRouter,
+            DataSource dataSource,
+            HibernateMetadataCapture hibernateMetadataCapture,
+            ShardCategoryReplicator shardCategoryReplicator,
+            ShardingProperties properties,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        // Depends on the entity manager factory, whose bootstrap captures the metadata
+        return new ShardSchemaInitializer(shardRouter, ShardRoutingDataSource.of(dataSource),
+                hibernateMetadataCapture, shardCategoryReplicator, properties, ddlAuto);
+    }
+}
@@ -0,0 +1,51 @@
+package com.blogapi.config;
+
+import com.blogapi.tracing.SlowRequestLog;
+import com.blogapi.tracing.TracingAspect;
+import com.blogapi.tracing.TracingDataSource;
+import com.blogapi.tracing.TracingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Request tracing: a filter opens a trace per API request, an aspect adds controller and service
+ * spans and the wrapped {@link DataSource} adds one span per SQL statement.
+ */
+@Configuration
+@ConditionalOnProperty(name = "blog.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(
+            SlowRequestLog slowRequestLog,
+            @Value("${blog.tracing.slow-request-millis:500}") long slowRequestMillis,
+            @Value("${blog.tracing.max-spans:200}") int maxSpans) {
+        FilterRegistrationBean<TracingFilter> registration =
+                new FilterRegistrationBean<>(new TracingFilter(slowRequestLog, slowRequestMillis, maxSpans));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public TracingAspect tracingAspect() {
+        return new TracingAspect();
+    }
+
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? TracingDataSource.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.blogapi.controller;
+
+import com.blogapi.model.dto.AuthorStatsResponse;
+import com.blogapi.service.AuthorStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/authors")
+@RequiredArgsConstructor
+@Tag(name = "Authors", description = "Author statistics APIs")
+@Slf4j
+public class AuthorController {
+
+    private final AuthorStatsService authorStatsService;
+
+    @GetMapping("/{author}/stats")
+    @Operation(summary = "Get author stats", description = "Post and comment counts of an author")
+    public ResponseEntity<AuthorStatsResponse> getAuthorStats(@PathVariable String author) {
+        log.info("REST request to get stats for author: {}", author);
+        return ResponseEntity.ok(authorStatsService.getStats(author));
+    }
+}
@@ -1,13 +1,19 @@
 package com.blogapi.controller;
 
+import com.blogapi.model.dto.CommentNodeResponse;
 import com.blogapi.model.dto.CommentRequest;
 import com.blogapi.model.dto.CommentResponse;
+import com.blogapi.model.dto.KeysetPage;
 import com.blogapi.service.CommentService;
+import com.blogapi.service.IdempotencyService;
+import com.blogapi.sharding.ShardKey;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,6 +28,7 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping("/posts/{postId}/comments")
     @Operation(summary = "Get comments for post")
@@ -30,14 +37,73 @@ public class CommentController {
         return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
     }
 
+    @GetMapping("/comments")
+    @Operation(summary = "Get comments by author",
+            description = "Newest-first feed of an author's comments; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<KeysetPage<CommentResponse>> getCommentsByAuthor(
+            @RequestParam String author,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("REST request to get Comments by author: {}", author);
+        return ResponseEntity.ok(commentService.getCommentsByAuthor(author, cursor, size));
+    }
+
     @PostMapping("/posts/{postId}/comments")
-    @Operation(summary = "Add comment to post")
+    @Operation(summary = "Add comment to post",
+            description = "Retries with the same Idempotency-Key return the first response")
     public ResponseEntity<CommentResponse> addComment(
+            @PathVariable @ShardKey(ShardKey.Source.ID) Long postId,
+            @Valid @RequestBody CommentRequest commentRequest,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        log.info("REST request to add Comment to Post ID: {}, Comment: {}", postId, commentRequest);
+        CommentResponse comment = idempotencyKey == null
+                ? commentService.addComment(postId, commentRequest)
+                : idempotencyService.execute("comments:" + postId, idempotencyKey, commentRequest,
+                        CommentResponse.class, () -> commentService.addComment(postId, commentRequest));
+        return ResponseEntity.status(HttpStatus.CREATED).body(comment);
+    }
+
+    @GetMapping("/posts/{postId}/comments/thread")
+    @Operation(summary = "Get comment thread for post",
+            description = "Nested comments of a post, at most size replies per comment; cursor pages the top-level comments")
+    public ResponseEntity<KeysetPage<CommentNodeResponse>> getPostThread(
             @PathVariable Long postId,
+            @RequestParam(required = false) Integer maxDepth,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("REST request to get Comment thread for Post ID: {}, maxDepth: {}, cursor: {}", postId, maxDepth, cursor);
+        return ResponseEntity.ok(commentService.getPostThread(postId, maxDepth, cursor, size));
+    }
+
+    @GetMapping("/comments/{id}/thread")
+    @Operation(summary = "Get comment subtree",
+            description = "A comment and its nested replies, at most size per comment; cursor pages its direct replies")
+    public ResponseEntity<CommentNodeResponse> getCommentThread(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer maxDepth,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("REST request to get Comment thread for Comment ID: {}, maxDepth: {}, cursor: {}", id, maxDepth, cursor);
+        return ResponseEntity.ok(commentService.getCommentThread(id, maxDepth, cursor, size));
+    }
+
+    @GetMapping("/comments/{id}/replies")
+    @Operation(summary = "Get direct replies", description = "One page of the direct replies to a comment")
+    public ResponseEntity<List<CommentResponse>> getReplies(
+            @PathVariable Long id,
+            @PageableDefault(size = 20) Pageable pageable) {
+        log.info("REST request to get replies to Comment ID: {}", id);
+        return ResponseEntity.ok(commentService.getReplies(id, pageable));
+    }
+
+    @PostMapping("/comments/{id}/replies")
+    @Operation(summary = "Reply to comment")
+    public ResponseEntity<CommentResponse> addReply(
+            @PathVariable Long id,
             @Valid @RequestBody CommentRequest commentRequest) {
-        log.info("REST request to add Comment to Post ID: {}, Comment: {}", postId, commentRequest);
+        log.info("REST request to reply to Comment ID: {}, Comment: {}", id, commentRequest);
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(commentService.addComment(postId, commentRequest));
+                .body(commentService.addReply(id, commentRequest));
     }
 
     @PutMapping("/comments/{id}")
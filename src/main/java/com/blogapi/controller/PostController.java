@@ -1,18 +1,32 @@
 package com.blogapi.controller;
 
+import com.blogapi.model.dto.KeysetPage;
+import com.blogapi.model.dto.MostViewedPostResponse;
+import com.blogapi.model.dto.PageTotals;
 import com.blogapi.model.dto.PostRequest;
 import com.blogapi.model.dto.PostResponse;
+import com.blogapi.model.dto.PostSearchRequest;
+import com.blogapi.model.dto.TrendingPostResponse;
+import com.blogapi.service.FeedSnapshotService;
+import com.blogapi.service.IdempotencyService;
 import com.blogapi.service.PostService;
+import com.blogapi.service.PostViewCounter;
+import com.blogapi.service.TrendingPostTracker;
+import com.blogapi.sharding.ShardKey;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,16 +40,76 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final TrendingPostTracker trendingPostTracker;
+    private final IdempotencyService idempotencyService;
+    private final PostViewCounter postViewCounter;
+    private final FeedSnapshotService feedSnapshotService;
 
     @GetMapping
-    @Operation(summary = "Get all posts", description = "Retrieve all blog posts with pagination and sorting")
-    public ResponseEntity<Page<PostResponse>> getAllPosts(
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+    @Operation(summary = "Get all posts",
+            description = "Retrieve all blog posts, optionally in one category, with pagination and sorting. "
+                    + "totals=approximate reports an estimated total, totals=none skips it and only reports "
+                    + "whether a next page exists")
+    public ResponseEntity<?> getAllPosts(
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "exact") String totals,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("REST request to get a page of Posts");
-        Page<PostResponse> posts = postService.getAllPosts(pageable);
+        PageTotals pageTotals = PageTotals.parse(totals);
+        if (pageTotals == PageTotals.EXACT) {
+            // Snapshots are rendered as exact pages, so other totals modes skip them
+            FeedSnapshotService.Snapshot snapshot = feedSnapshotService.find(categoryId, pageable);
+            if (snapshot != null) {
+                return snapshotResponse(snapshot, acceptEncoding);
+            }
+            Page<PostResponse> posts = categoryId == null
+                    ? postService.getAllPosts(pageable)
+                    : postService.getPostsByCategory(categoryId, pageable);
+            return ResponseEntity.ok(posts);
+        }
+        Slice<PostResponse> posts = categoryId == null
+                ? postService.getAllPosts(pageable, pageTotals)
+                : postService.getPostsByCategory(categoryId, pageable, pageTotals);
         return ResponseEntity.ok(posts);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search posts",
+            description = "Filter by categories, author, creation range and title prefix; sort by createdAt, title or id")
+    public ResponseEntity<Slice<PostResponse>> searchPosts(
+            @ParameterObject @ModelAttribute PostSearchRequest searchRequest,
+            @ParameterObject @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC)
+            Pageable pageable) {
+        log.info("REST request to search Posts : {}", searchRequest);
+        return ResponseEntity.ok(postService.searchPosts(searchRequest, pageable));
+    }
+
+    @GetMapping(params = "author")
+    @Operation(summary = "Get posts by author",
+            description = "Newest-first feed of an author's posts; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<KeysetPage<PostResponse>> getPostsByAuthor(
+            @RequestParam String author,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("REST request to get Posts by author: {}", author);
+        return ResponseEntity.ok(postService.getPostsByAuthor(author, cursor, size));
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending posts", description = "Posts with the most comments in the trending window")
+    public ResponseEntity<List<TrendingPostResponse>> getTrendingPosts(@RequestParam(defaultValue = "10") int limit) {
+        log.info("REST request to get trending Posts, limit: {}", limit);
+        return ResponseEntity.ok(trendingPostTracker.getTrending(limit));
+    }
+
+    @GetMapping("/most-viewed")
+    @Operation(summary = "Get most viewed posts", description = "Posts with the most views, as of the last flush")
+    public ResponseEntity<List<MostViewedPostResponse>> getMostViewedPosts(@RequestParam(defaultValue = "10") int limit) {
+        log.info("REST request to get most viewed Posts, limit: {}", limit);
+        return ResponseEntity.ok(postViewCounter.getMostViewed(limit));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get post by ID", description = "Retrieve a specific blog post by its ID")
     public ResponseEntity<PostResponse> getPostById(@PathVariable Long id) {
@@ -45,10 +119,16 @@ public class PostController {
     }
 
     @PostMapping
-    @Operation(summary = "Create new post", description = "Create a new blog post")
-    public ResponseEntity<PostResponse> createPost(@Valid @RequestBody PostRequest postRequest) {
+    @Operation(summary = "Create new post",
+            description = "Create a new blog post. Retries with the same Idempotency-Key return the first response")
+    public ResponseEntity<PostResponse> createPost(
+            @Valid @RequestBody @ShardKey(ShardKey.Source.CATEGORY) PostRequest postRequest,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("REST request to save Post : {}", postRequest);
-        PostResponse createdPost = postService.createPost(postRequest);
+        PostResponse createdPost = idempotencyKey == null
+                ? postService.createPost(postRequest)
+                : idempotencyService.execute("posts", idempotencyKey, postRequest, PostResponse.class,
+                        () -> postService.createPost(postRequest));
         return ResponseEntity.status(HttpStatus.CREATED).body(createdPost);
     }
 
@@ -77,4 +157,17 @@ public class PostController {
         List<PostResponse> posts = postService.getPostsByCategory(categoryId);
         return ResponseEntity.ok(posts);
     }
+
+    /**
+     * Writes a precomputed feed page as is, gzip-encoded when the client accepts it.
+     */
+    private ResponseEntity<byte[]> snapshotResponse(FeedSnapshotService.Snapshot snapshot, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
 }
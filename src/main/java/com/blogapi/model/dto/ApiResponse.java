@@ -1,15 +1,4 @@
 package com.blogapi.model.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-@Builder
-public class ApiResponse {
-    private boolean success;
-    private String message;
+public record ApiResponse(boolean success, String message) {
 }
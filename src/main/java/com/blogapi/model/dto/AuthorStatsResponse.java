@@ -0,0 +1,4 @@
+package com.blogapi.model.dto;
+
+public record AuthorStatsResponse(String author, long postCount, long commentCount) {
+}
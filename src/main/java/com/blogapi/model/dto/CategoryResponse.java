@@ -1,12 +1,4 @@
 package com.blogapi.model.dto;
 
-import lombok.Builder;
-import lombok.Data;
-
-@Data
-@Builder
-public class CategoryResponse {
-    private Long id;
-    private String name;
-    private String description;
+public record CategoryResponse(Long id, String name, String description) {
 }
@@ -0,0 +1,19 @@
+package com.blogapi.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A comment with the replies loaded under it. {@code moreReplies} is set when it has replies that
+ * this response leaves out, through paging or the depth limit.
+ */
+public record CommentNodeResponse(
+        Long id,
+        String content,
+        String author,
+        LocalDateTime createdAt,
+        Long parentId,
+        int depth,
+        boolean moreReplies,
+        List<CommentNodeResponse> replies) {
+}
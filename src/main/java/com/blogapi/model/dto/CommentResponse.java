@@ -1,14 +1,12 @@
 package com.blogapi.model.dto;
 
-import lombok.Builder;
-import lombok.Data;
 import java.time.LocalDateTime;
 
-@Data
-@Builder
-public class CommentResponse {
-    private Long id;
-    private String content;
-    private String author;
-    private LocalDateTime createdAt;
+public record CommentResponse(
+        Long id,
+        String content,
+        String author,
+        LocalDateTime createdAt,
+        Long parentId,
+        int depth) {
 }
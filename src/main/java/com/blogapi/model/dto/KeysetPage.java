@@ -0,0 +1,10 @@
+package com.blogapi.model.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paged list. {@code nextCursor} is passed back as {@code cursor} to read
+ * the following page and is {@code null} on the last page.
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+}
@@ -0,0 +1,4 @@
+package com.blogapi.model.dto;
+
+public record MostViewedPostResponse(Long postId, long viewCount) {
+}
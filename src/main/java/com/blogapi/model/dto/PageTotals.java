@@ -0,0 +1,24 @@
+package com.blogapi.model.dto;
+
+import com.blogapi.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * How a paged response reports its totals: an exact {@code COUNT(*)}, a periodically refreshed
+ * estimate, or none at all, in which case the response is a slice that only knows whether a next
+ * page exists.
+ */
+public enum PageTotals {
+    EXACT,
+    APPROXIMATE,
+    NONE;
+
+    public static PageTotals parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("totals must be exact, approximate or none");
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.blogapi.model.dto;
 
+import com.blogapi.sharding.CategoryScoped;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 @Data
-public class PostRequest {
+public class PostRequest implements CategoryScoped {
     @NotBlank(message = "Title is required")
     private String title;
 
@@ -1,18 +1,44 @@
 package com.blogapi.model.dto;
 
-import lombok.Builder;
-import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.List;
 
-@Data
-@Builder
-public class PostResponse {
-    private Long id;
-    private String title;
-    private String content;
-    private String author;
-    private Long categoryId;
-    private String categoryName;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+public record PostResponse(
+        Long id,
+        String title,
+        String content,
+        String author,
+        Long categoryId,
+        String categoryName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String excerpt,
+        Integer wordCount,
+        Integer readingTimeMinutes,
+        List<String> tags,
+        Long viewCount) {
+
+    /**
+     * Used by JPQL constructor expressions, which select the raw comma-separated tags column.
+     */
+    public PostResponse(Long id, String title, String content, String author, Long categoryId, String categoryName,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, String excerpt, Integer wordCount,
+                        Integer readingTimeMinutes, String tags, Long viewCount) {
+        this(id, title, content, author, categoryId, categoryName, createdAt, updatedAt, excerpt, wordCount,
+                readingTimeMinutes, splitTags(tags), viewCount);
+    }
+
+    /**
+     * Used by feed queries, which leave the post body in {@code post_contents}.
+     */
+    public PostResponse(Long id, String title, String author, Long categoryId, String categoryName,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, String excerpt, Integer wordCount,
+                        Integer readingTimeMinutes, String tags, Long viewCount) {
+        this(id, title, null, author, categoryId, categoryName, createdAt, updatedAt, excerpt, wordCount,
+                readingTimeMinutes, splitTags(tags), viewCount);
+    }
+
+    public static List<String> splitTags(String tags) {
+        return tags == null || tags.isEmpty() ? List.of() : List.of(tags.split(","));
+    }
 }
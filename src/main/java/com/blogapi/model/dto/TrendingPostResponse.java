@@ -0,0 +1,4 @@
+package com.blogapi.model.dto;
+
+public record TrendingPostResponse(Long postId, long commentCount) {
+}
@@ -0,0 +1,43 @@
+package com.blogapi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment of an archived post, moved out of {@code comments} with its original id and thread path.
+ */
+@Entity
+@Table(name = "archived_comments", indexes = {
+        @Index(name = "idx_archived_comments_post_path", columnList = "post_id, path")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedComment {
+    @Id
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    @Column(nullable = false)
+    private String author;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(length = CommentPaths.MAX_PATH_LENGTH)
+    private String path;
+
+    private Integer depth;
+}
@@ -0,0 +1,59 @@
+package com.blogapi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post moved out of {@code posts} by the archiver, together with its body. Keeps the original
+ * id, so links keep working, and the category id without a foreign key. Archived posts are
+ * read-only: they can be viewed and deleted, but not edited or commented on.
+ */
+@Entity
+@Table(name = "archived_posts", indexes = {
+        @Index(name = "idx_archived_posts_category", columnList = "category_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedPost {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String author;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(length = 300)
+    private String excerpt;
+
+    private Integer wordCount;
+
+    private Integer readingTimeMinutes;
+
+    @Column(length = 500)
+    private String tags;
+
+    // Copied byte for byte from post_contents
+    @Convert(converter = PostContentConverter.class)
+    @Column(name = "body", length = Length.LONG32)
+    private String content;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,26 @@
+package com.blogapi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running post and comment totals per author, adjusted in the same transaction as every write
+ * by {@code AuthorStatsService}.
+ */
+@Entity
+@Table(name = "author_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorStats {
+    @Id
+    private String author;
+
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+}
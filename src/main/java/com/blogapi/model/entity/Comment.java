@@ -5,10 +5,16 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_path", columnList = "post_id, path"),
+        @Index(name = "idx_comments_parent_path", columnList = "parent_id, path"),
+        @Index(name = "idx_comments_author_created_at", columnList = "author, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,8 +32,18 @@ public class Comment {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Post post;
 
     @Column(nullable = false)
     private LocalDateTime createdAt;
+
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Materialized path: fixed-width ids of all ancestors followed by this comment's id
+    @Column(length = CommentPaths.MAX_PATH_LENGTH)
+    private String path;
+
+    private Integer depth;
 }
@@ -0,0 +1,42 @@
+package com.blogapi.model.entity;
+
+/**
+ * Materialized-path helpers for threaded comments. A path is the concatenation of fixed-width,
+ * zero-padded ids from the root comment down to the comment itself, so ordering by path yields
+ * depth-first thread order and a subtree is the contiguous range {@code [path, upperBound(path))}.
+ * Paths contain digits only, which keeps that range valid under any database collation.
+ */
+public final class CommentPaths {
+
+    public static final int SEGMENT_WIDTH = 12;
+    public static final int MAX_DEPTH = 32;
+    public static final int MAX_PATH_LENGTH = SEGMENT_WIDTH * (MAX_DEPTH + 1);
+
+    private static final String ZEROS = "0".repeat(SEGMENT_WIDTH);
+
+    private CommentPaths() {
+    }
+
+    public static String segment(long id) {
+        String digits = Long.toString(id);
+        return ZEROS.substring(digits.length()) + digits;
+    }
+
+    public static String child(String parentPath, long id) {
+        return parentPath + segment(id);
+    }
+
+    /**
+     * Smallest string that sorts after every path starting with {@code path}.
+     */
+    public static String upperBound(String path) {
+        int i = path.length() - 1;
+        while (i >= 0 && path.charAt(i) == '9') {
+            i--;
+        }
+        if (i < 0) {
+            throw new IllegalArgumentException("No upper bound for path " + path);
+        }
+        return path.substring(0, i) + (char) (path.charAt(i) + 1);
+    }
+}
@@ -0,0 +1,55 @@
+package com.blogapi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * The stored response of a write that was sent with an {@code Idempotency-Key} header. Always
+ * inserted, never merged, so a concurrent duplicate fails on the primary key.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+public class IdempotencyKey implements Persistable<String> {
+    @Id
+    @Column(length = 255)
+    private String id;
+
+    // SHA-256 of the request, hex encoded
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "response_body", nullable = false, columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean persisted;
+
+    public IdempotencyKey(String id, String fingerprint, String responseBody, LocalDateTime createdAt) {
+        this.id = id;
+        this.fingerprint = fingerprint;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
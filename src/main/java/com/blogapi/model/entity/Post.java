@@ -5,15 +5,24 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_author_created_at", columnList = "author, created_at, id"),
+        @Index(name = "idx_posts_category_created_at", columnList = "category_id, created_at, id"),
+        @Index(name = "idx_posts_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_posts_title", columnList = "title")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,9 +31,6 @@ public class Post {
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String content;
-
     @Column(nullable = false)
     private String author;
 
@@ -40,4 +46,20 @@ public class Post {
 
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    // Derived fields, written only by PostProcessingService
+    @Column(length = 300, insertable = false, updatable = false)
+    private String excerpt;
+
+    @Column(insertable = false, updatable = false)
+    private Integer wordCount;
+
+    @Column(insertable = false, updatable = false)
+    private Integer readingTimeMinutes;
+
+    @Column(length = 500, insertable = false, updatable = false)
+    private String tags;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime processedAt;
 }
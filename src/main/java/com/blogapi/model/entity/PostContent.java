@@ -0,0 +1,43 @@
+package com.blogapi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.Length;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Body of a post, kept out of {@code posts} so feed queries and cached posts never carry it.
+ * Loaded only for the post detail view and by the post processing pipeline, and stored through
+ * {@link PostContentConverter}. Rows go with their post through the foreign key. Cached on its
+ * own, in a smaller region than posts, so the detail view of a hot post skips {@code post_contents}.
+ */
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "post_contents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostContent {
+    @Id
+    private Long postId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "post_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Post post;
+
+    @Convert(converter = PostContentConverter.class)
+    @Column(name = "body", nullable = false, length = Length.LONG32)
+    private String content;
+}
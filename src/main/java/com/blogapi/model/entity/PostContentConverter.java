@@ -0,0 +1,93 @@
+package com.blogapi.model.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores post bodies as UTF-8 behind a one-byte header: bodies of at least
+ * {@link #COMPRESSION_THRESHOLD} bytes are deflated when that makes them smaller, shorter ones
+ * are kept as is because compressing them costs more than it saves.
+ */
+@Converter
+public class PostContentConverter implements AttributeConverter<String, byte[]> {
+
+    public static final int COMPRESSION_THRESHOLD = 1024;
+
+    private static final byte PLAIN = 0;
+    private static final byte DEFLATE = 1;
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String content) {
+        return content == null ? null : encode(content);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] data) {
+        return data == null ? null : decode(data);
+    }
+
+    public static byte[] encode(String content) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= COMPRESSION_THRESHOLD) {
+            byte[] compressed = deflate(raw);
+            if (compressed.length < raw.length) {
+                return compressed;
+            }
+        }
+        byte[] plain = new byte[raw.length + 1];
+        plain[0] = PLAIN;
+        System.arraycopy(raw, 0, plain, 1, raw.length);
+        return plain;
+    }
+
+    public static String decode(byte[] data) {
+        if (data.length == 0 || data[0] == PLAIN) {
+            return new String(data, Math.min(1, data.length), Math.max(0, data.length - 1), StandardCharsets.UTF_8);
+        }
+        if (data[0] != DEFLATE) {
+            throw new IllegalStateException("Unknown post content encoding " + data[0]);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, 1, data.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated post content");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt post content", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            out.write(DEFLATE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
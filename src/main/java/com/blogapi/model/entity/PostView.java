@@ -0,0 +1,30 @@
+package com.blogapi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Persisted view total of a post, kept apart from {@code posts} so flushing counts never locks
+ * or invalidates post rows. Written only by {@code PostViewCounter}.
+ */
+@Entity
+@Table(name = "post_views", indexes = {
+        @Index(name = "idx_post_views_view_count", columnList = "view_count")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class PostView {
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+}
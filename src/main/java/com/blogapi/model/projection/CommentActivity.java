@@ -0,0 +1,9 @@
+package com.blogapi.model.projection;
+
+import java.time.LocalDateTime;
+
+public interface CommentActivity {
+    Long getPostId();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,7 @@
+package com.blogapi.model.projection;
+
+public interface PostContentView {
+    Long getId();
+
+    String getContent();
+}
@@ -0,0 +1,22 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.ArchivedComment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedCommentRepository extends JpaRepository<ArchivedComment, Long> {
+
+    // A single null row when the archived post has no comments, no rows when it is not archived
+    @Query("select c from ArchivedPost p left join ArchivedComment c on c.postId = p.id where p.id = :postId")
+    List<ArchivedComment> findByPostIdIfArchived(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("delete from ArchivedComment c where c.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+}
@@ -0,0 +1,16 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.ArchivedPost;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedPostRepository extends JpaRepository<ArchivedPost, Long> {
+
+    @Modifying
+    @Query("delete from ArchivedPost p where p.id = :id")
+    int deleteArchivedPostById(@Param("id") Long id);
+}
@@ -0,0 +1,9 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.AuthorStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuthorStatsRepository extends JpaRepository<AuthorStats, String> {
+}
@@ -1,9 +1,22 @@
 package com.blogapi.repository;
 
 import com.blogapi.model.entity.Category;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    @Query("select c.id from Category c order by c.id")
+    List<Long> findIds(Pageable pageable);
+
+    @Modifying
+    @Query("delete from Category c where c.id = :id")
+    int deleteCategoryById(@Param("id") Long id);
 }
@@ -1,12 +1,64 @@
 package com.blogapi.repository;
 
 import com.blogapi.model.entity.Comment;
+import com.blogapi.model.projection.CommentActivity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostId(Long postId);
+
+    // A single null row when the post has no comments, no rows when it does not exist
+    @Query("select c from Post p left join Comment c on c.post = p where p.id = :postId")
+    List<Comment> findByPostIdIfPostExists(@Param("postId") Long postId);
+
+    @Query("select c.post.id as postId, c.createdAt as createdAt from Comment c where c.createdAt >= :since")
+    List<CommentActivity> findActivitySince(@Param("since") LocalDateTime since);
+
+    // Siblings share their parent's path prefix, so id order is path order among them
+    @Query("select c from Comment c where c.post.id = :postId and c.parentId is null and c.id > :after "
+            + "order by c.path")
+    List<Comment> findRootsAfter(@Param("postId") Long postId, @Param("after") long after, Pageable pageable);
+
+    @Query("select c from Comment c where c.parentId = :parentId and c.id > :after order by c.path")
+    List<Comment> findRepliesAfter(@Param("parentId") Long parentId, @Param("after") long after, Pageable pageable);
+
+    // One level of a thread: the first replies of each parent, in path order
+    @Query(value = "SELECT * FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.parent_id ORDER BY c.path) "
+            + "AS reply_rank FROM comments c WHERE c.parent_id IN (:parentIds)) ranked "
+            + "WHERE ranked.reply_rank <= :perParent ORDER BY ranked.path", nativeQuery = true)
+    List<Comment> findFirstRepliesOf(@Param("parentIds") Collection<Long> parentIds,
+                                     @Param("perParent") int perParent);
+
+    @Query("select distinct c.parentId from Comment c where c.parentId in :parentIds")
+    List<Long> findParentIdsWithReplies(@Param("parentIds") Collection<Long> parentIds);
+
+    List<Comment> findByParentIdOrderByPath(Long parentId, Pageable pageable);
+
+    @Query("select c.createdAt from Comment c where c.post.id = :postId and c.path >= :fromPath and c.path < :toPath")
+    List<LocalDateTime> findSubtreeCreatedAt(@Param("postId") Long postId, @Param("fromPath") String fromPath,
+                                             @Param("toPath") String toPath);
+
+    @Query("select c from Comment c where c.author = :author order by c.createdAt desc, c.id desc")
+    List<Comment> findFeedByAuthor(@Param("author") String author, Pageable pageable);
+
+    @Query("select c from Comment c where c.author = :author "
+            + "and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id)) "
+            + "order by c.createdAt desc, c.id desc")
+    List<Comment> findFeedByAuthorAfter(@Param("author") String author, @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Comment c where c.post.id = :postId and c.path >= :fromPath and c.path < :toPath")
+    int deleteSubtree(@Param("postId") Long postId, @Param("fromPath") String fromPath,
+                      @Param("toPath") String toPath);
 }
@@ -0,0 +1,22 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from IdempotencyKey k where k.id = :id and k.createdAt < :cutoff")
+    int deleteExpired(@Param("id") String id, @Param("cutoff") LocalDateTime cutoff);
+}
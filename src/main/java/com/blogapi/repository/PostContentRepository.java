@@ -0,0 +1,23 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.PostContent;
+import com.blogapi.model.projection.PostContentView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostContentRepository extends JpaRepository<PostContent, Long> {
+
+    @Query("select c.postId as id, c.content as content from PostContent c where c.postId in :ids")
+    List<PostContentView> findContentsByPostIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select c.postId as id, c.content as content from PostContent c join c.post p "
+            + "where c.postId between :fromId and :toId and p.processedAt is null")
+    List<PostContentView> findUnprocessedContentsByPostIdBetween(@Param("fromId") Long fromId,
+                                                                 @Param("toId") Long toId);
+}
@@ -0,0 +1,18 @@
+package com.blogapi.repository;
+
+public interface PostDeleteRepository {
+
+    /**
+     * Deletes a post and its comments, evicting only that post from the second-level cache.
+     *
+     * @return the number of posts deleted
+     */
+    int deletePostById(Long id);
+
+    /**
+     * Deletes every post of a category and their comments.
+     *
+     * @return the number of posts deleted
+     */
+    int deletePostsByCategoryId(Long categoryId);
+}
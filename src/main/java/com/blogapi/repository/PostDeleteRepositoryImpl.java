@@ -0,0 +1,66 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.Post;
+import com.blogapi.model.entity.PostContent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Deletes through JDBC rather than JPQL: a bulk JPQL delete on {@code Post} makes Hibernate drop
+ * the whole {@code Post} region and every cached {@code Category.posts} collection, so here the
+ * evictions are done by hand and limited to what was deleted. Comments are deleted explicitly for
+ * schemas whose {@code comments.post_id} foreign key predates {@code ON DELETE CASCADE}; post
+ * bodies still go with their post through the foreign key, and are evicted alongside it.
+ */
+class PostDeleteRepositoryImpl implements PostDeleteRepository {
+
+    private static final String CATEGORY_POSTS = "com.blogapi.model.entity.Category.posts";
+
+    private static final String DELETE_COMMENTS = "DELETE FROM comments WHERE post_id = ?";
+    private static final String DELETE_POST = "DELETE FROM posts WHERE id = ?";
+    private static final String DELETE_CATEGORY_COMMENTS = "DELETE FROM comments "
+            + "WHERE post_id IN (SELECT id FROM posts WHERE category_id = ?)";
+    private static final String DELETE_CATEGORY_POSTS = "DELETE FROM posts WHERE category_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    PostDeleteRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public int deletePostById(Long id) {
+        jdbcTemplate.update(DELETE_COMMENTS, id);
+        int deleted = jdbcTemplate.update(DELETE_POST, id);
+        if (deleted > 0) {
+            Cache cache = cache();
+            cache.evictEntityData(Post.class, id);
+            cache.evictEntityData(PostContent.class, id);
+            // The owning category is unknown without a lookup
+            cache.evictCollectionData(CATEGORY_POSTS);
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deletePostsByCategoryId(Long categoryId) {
+        jdbcTemplate.update(DELETE_CATEGORY_COMMENTS, categoryId);
+        int deleted = jdbcTemplate.update(DELETE_CATEGORY_POSTS, categoryId);
+        if (deleted > 0) {
+            Cache cache = cache();
+            // The deleted ids are unknown without a lookup, and a category delete is rare
+            cache.evictEntityData(Post.class);
+            cache.evictEntityData(PostContent.class);
+            cache.evictCollectionData(CATEGORY_POSTS, categoryId);
+        }
+        return deleted;
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -1,16 +1,88 @@
 package com.blogapi.repository;
 
+import com.blogapi.model.dto.PostResponse;
 import com.blogapi.model.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
-    List<Post> findByCategoryId(Long categoryId);
+public interface PostRepository extends JpaRepository<Post, Long>, PostSearchRepository, PostDeleteRepository {
+    // A single row without a post when the category is empty, no rows when it does not exist
+    @Query("select new com.blogapi.model.dto.PostResponse(p.id, p.title, p.author, c.id, c.name, "
+            + "p.createdAt, p.updatedAt, p.excerpt, p.wordCount, p.readingTimeMinutes, p.tags, "
+            + "coalesce(v.viewCount, 0L)) "
+            + "from Category c left join Post p on p.category = c left join PostView v on v.postId = p.id "
+            + "where c.id = :categoryId")
+    List<PostResponse> findResponsesInCategory(@Param("categoryId") Long categoryId);
 
     Page<Post> findByCategoryId(Long categoryId, Pageable pageable);
+
+    List<Post> findByCategoryIdOrderByCreatedAtDescIdDesc(Long categoryId, Pageable pageable);
+
+    @Query(value = "select new com.blogapi.model.dto.PostResponse(p.id, p.title, p.author, c.id, c.name, "
+            + "p.createdAt, p.updatedAt, p.excerpt, p.wordCount, p.readingTimeMinutes, p.tags, "
+            + "coalesce(v.viewCount, 0L)) "
+            + "from Post p join p.category c left join PostView v on v.postId = p.id",
+            countQuery = "select count(p) from Post p")
+    Page<PostResponse> findAllResponses(Pageable pageable);
+
+    @Query(value = "select new com.blogapi.model.dto.PostResponse(p.id, p.title, p.author, c.id, c.name, "
+            + "p.createdAt, p.updatedAt, p.excerpt, p.wordCount, p.readingTimeMinutes, p.tags, "
+            + "coalesce(v.viewCount, 0L)) "
+            + "from Post p join p.category c left join PostView v on v.postId = p.id where c.id = :categoryId",
+            countQuery = "select count(p) from Post p where p.category.id = :categoryId")
+    Page<PostResponse> findResponsesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    // Slices read one row past the page instead of counting
+    @Query("select new com.blogapi.model.dto.PostResponse(p.id, p.title, p.author, c.id, c.name, "
+            + "p.createdAt, p.updatedAt, p.excerpt, p.wordCount, p.readingTimeMinutes, p.tags, "
+            + "coalesce(v.viewCount, 0L)) "
+            + "from Post p join p.category c left join PostView v on v.postId = p.id")
+    Slice<PostResponse> findAllResponseSlice(Pageable pageable);
+
+    @Query("select new com.blogapi.model.dto.PostResponse(p.id, p.title, p.author, c.id, c.name, "
+            + "p.createdAt, p.updatedAt, p.excerpt, p.wordCount, p.readingTimeMinutes, p.tags, "
+            + "coalesce(v.viewCount, 0L)) "
+            + "from Post p join p.category c left join PostView v on v.postId = p.id where c.id = :categoryId")
+    Slice<PostResponse> findResponseSliceByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    long countByCategoryId(Long categoryId);
+
+    @Query("select p.id from Post p where p.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("select distinct p.category.id from Post p where p.id in :ids")
+    List<Long> findCategoryIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.blogapi.model.dto.PostResponse(p.id, p.title, p.author, c.id, c.name, "
+            + "p.createdAt, p.updatedAt, p.excerpt, p.wordCount, p.readingTimeMinutes, p.tags, "
+            + "coalesce(v.viewCount, 0L)) "
+            + "from Post p join p.category c left join PostView v on v.postId = p.id "
+            + "where p.author = :author order by p.createdAt desc, p.id desc")
+    List<PostResponse> findFeedByAuthor(@Param("author") String author, Pageable pageable);
+
+    @Query("select new com.blogapi.model.dto.PostResponse(p.id, p.title, p.author, c.id, c.name, "
+            + "p.createdAt, p.updatedAt, p.excerpt, p.wordCount, p.readingTimeMinutes, p.tags, "
+            + "coalesce(v.viewCount, 0L)) "
+            + "from Post p join p.category c left join PostView v on v.postId = p.id "
+            + "where p.author = :author "
+            + "and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)) "
+            + "order by p.createdAt desc, p.id desc")
+    List<PostResponse> findFeedByAuthorAfter(@Param("author") String author, @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id, Pageable pageable);
+
+    @Query("select min(p.id) from Post p")
+    Long findMinId();
+
+    @Query("select max(p.id) from Post p")
+    Long findMaxId();
 }
@@ -0,0 +1,15 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.Post;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface PostSearchRepository {
+
+    /**
+     * Like {@code findAll(Specification, Pageable)} but without the count query: reads one row
+     * past the page to decide whether another page follows.
+     */
+    Slice<Post> search(Specification<Post> specification, Pageable pageable);
+}
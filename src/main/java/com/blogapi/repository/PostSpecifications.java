@@ -0,0 +1,37 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.Post;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Feed predicates. Each one maps onto a column that leads one of the {@code posts} indexes.
+ */
+public final class PostSpecifications {
+
+    private PostSpecifications() {
+    }
+
+    public static Specification<Post> inCategories(Collection<Long> categoryIds) {
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Post> byAuthor(String author) {
+        return (root, query, cb) -> cb.equal(root.get("author"), author);
+    }
+
+    public static Specification<Post> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Post> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    public static Specification<Post> titleStartsWith(String prefix) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return (root, query, cb) -> cb.like(root.get("title"), escaped + "%", '\\');
+    }
+}
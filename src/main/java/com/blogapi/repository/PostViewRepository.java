@@ -0,0 +1,25 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.PostView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostViewRepository extends JpaRepository<PostView, Long> {
+    List<PostView> findByOrderByViewCountDesc(Pageable pageable);
+
+    @Modifying
+    @Query("delete from PostView v where v.postId in :postIds")
+    int deleteByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("delete from PostView v where v.postId = :postId")
+    int deleteViewByPostId(@Param("postId") Long postId);
+}
@@ -0,0 +1,173 @@
+package com.blogapi.seed;
+
+import com.blogapi.model.entity.PostContentConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Bulk-loads a reproducible dataset when the {@code seed} profile is active, before the
+ * application starts serving. Rows are written with explicit ids as multi-row {@code INSERT}s,
+ * id ranges in parallel, and the identity columns are moved past the seeded ids afterwards.
+ * Derived post fields are left to the post processing backfill.
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class DataSeeder implements ApplicationRunner {
+
+    private static final String POST_COLUMNS = "id, title, author, category_id, created_at, updated_at";
+    private static final String COMMENT_COLUMNS = "id, content, author, post_id, created_at, path, depth";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SeedDataGenerator generator;
+    private final long posts;
+    private final long comments;
+    private final int batchSize;
+    private final int threads;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${blog.seed.seed:42}") long seed,
+                      @Value("${blog.seed.categories:20}") int categories,
+                      @Value("${blog.seed.posts:1000000}") long posts,
+                      @Value("${blog.seed.comments:10000000}") long comments,
+                      @Value("${blog.seed.authors:5000}") int authors,
+                      @Value("${blog.seed.category-distribution:zipf}") String categoryDistribution,
+                      @Value("${blog.seed.zipf-exponent:1.1}") double zipfExponent,
+                      @Value("${blog.seed.viral-posts:100}") int viralPosts,
+                      @Value("${blog.seed.viral-share:0.3}") double viralShare,
+                      @Value("${blog.seed.start:2024-01-01T00:00:00}") LocalDateTime start,
+                      @Value("${blog.seed.span:P365D}") Duration span,
+                      @Value("${blog.seed.batch-size:1000}") int batchSize,
+                      @Value("${blog.seed.threads:4}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.generator = new SeedDataGenerator(seed, categories, posts, authors,
+                SeedDataGenerator.CategoryDistribution.valueOf(categoryDistribution.toUpperCase()),
+                zipfExponent, viralPosts, viralShare, start, span);
+        this.posts = posts;
+        this.comments = comments;
+        this.batchSize = batchSize;
+        this.threads = threads;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class);
+        if (existing != null && existing > 0) {
+            log.warn("Skipping seed data: the database already has {} categories", existing);
+            return;
+        }
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> insertCategories(generator.categories()));
+        long postCount = load("posts", posts, range -> insertPosts(generator.posts(range[0], range[1])));
+        long commentCount = load("comments", comments, range -> insertComments(generator.comments(range[0], range[1])));
+
+        restartIdentity("categories", generator.categories().size() + 1L);
+        restartIdentity("posts", posts + 1);
+        restartIdentity("comments", comments + 1);
+        log.info("Seeded {} posts and {} comments in {} s", postCount, commentCount,
+                Duration.ofNanos(System.nanoTime() - start).toSeconds());
+    }
+
+    private long load(String table, long rows, Function<long[], Integer> insert) throws Exception {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (long from = 1; from <= rows; from += batchSize) {
+                long[] range = {from, Math.min(rows, from + batchSize - 1)};
+                futures.add(executor.submit(() -> transactionTemplate.execute(status -> insert.apply(range))));
+            }
+            long inserted = 0;
+            for (Future<Integer> future : futures) {
+                inserted += future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            log.info("Seeded {} {} in {} s ({} rows/s)", inserted, table, String.format("%.1f", seconds),
+                    Math.round(inserted / seconds));
+            return inserted;
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Seeding " + table + " failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void insertCategories(List<SeedDataGenerator.CategoryRow> rows) {
+        List<Object> args = new ArrayList<>(rows.size() * 3);
+        for (SeedDataGenerator.CategoryRow row : rows) {
+            args.add(row.id());
+            args.add(row.name());
+            args.add(row.description());
+        }
+        jdbcTemplate.update(multiRowInsert("categories", "id, name, description", 3, rows.size()), args.toArray());
+    }
+
+    private int insertPosts(List<SeedDataGenerator.PostRow> rows) {
+        List<Object> args = new ArrayList<>(rows.size() * 6);
+        List<Object> contentArgs = new ArrayList<>(rows.size() * 2);
+        for (SeedDataGenerator.PostRow row : rows) {
+            Timestamp createdAt = Timestamp.valueOf(row.createdAt());
+            args.add(row.id());
+            args.add(row.title());
+            args.add(row.author());
+            args.add(row.categoryId());
+            args.add(createdAt);
+            args.add(createdAt);
+            contentArgs.add(row.id());
+            contentArgs.add(PostContentConverter.encode(row.content()));
+        }
+        int inserted = jdbcTemplate.update(multiRowInsert("posts", POST_COLUMNS, 6, rows.size()), args.toArray());
+        jdbcTemplate.update(multiRowInsert("post_contents", "post_id, body", 2, rows.size()), contentArgs.toArray());
+        return inserted;
+    }
+
+    private int insertComments(List<SeedDataGenerator.CommentRow> rows) {
+        List<Object> args = new ArrayList<>(rows.size() * 7);
+        for (SeedDataGenerator.CommentRow row : rows) {
+            args.add(row.id());
+            args.add(row.content());
+            args.add(row.author());
+            args.add(row.postId());
+            args.add(Timestamp.valueOf(row.createdAt()));
+            args.add(row.path());
+            args.add(0);
+        }
+        return jdbcTemplate.update(multiRowInsert("comments", COMMENT_COLUMNS, 7, rows.size()), args.toArray());
+    }
+
+    private String multiRowInsert(String table, String columns, int columnCount, int rows) {
+        String tuple = "(" + "?, ".repeat(columnCount - 1) + "?)";
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(columns).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append(tuple);
+        }
+        return sql.toString();
+    }
+
+    private void restartIdentity(String table, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+}
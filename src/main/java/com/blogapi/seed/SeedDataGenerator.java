@@ -0,0 +1,172 @@
+package com.blogapi.seed;
+
+import com.blogapi.model.entity.CommentPaths;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Produces seed rows as a pure function of the seed and the row id, so any id range can be
+ * generated on any thread and the dataset is identical however the work is split.
+ */
+public class SeedDataGenerator {
+
+    public enum CategoryDistribution {
+        UNIFORM,
+        ZIPF
+    }
+
+    public record CategoryRow(long id, String name, String description) {
+    }
+
+    public record PostRow(long id, String title, String content, String author, long categoryId,
+                          LocalDateTime createdAt) {
+    }
+
+    public record CommentRow(long id, String content, String author, long postId, LocalDateTime createdAt,
+                             String path) {
+    }
+
+    private static final long POST_STREAM = 0x504f5354L;
+    private static final long COMMENT_STREAM = 0x434f4d4dL;
+    private static final long VIRAL_STREAM = 0x56495241L;
+
+    private static final String[] WORDS = {
+            "spring", "java", "database", "latency", "cache", "query", "index", "thread", "memory", "request",
+            "service", "design", "system", "scale", "review", "build", "deploy", "release", "feature", "bug",
+            "team", "practice", "pattern", "code", "test", "load", "stream", "batch", "event", "model",
+            "api", "client", "server", "network", "storage", "metric", "trace", "profile", "tuning", "throughput",
+            "the", "a", "of", "and", "to", "in", "with", "for", "on", "about", "how", "why", "when", "we", "it"
+    };
+    private static final String[] TAGS = {
+            "java", "spring", "postgres", "performance", "devops", "testing", "architecture", "cloud", "jvm", "sql"
+    };
+
+    private final long seed;
+    private final int categories;
+    private final long posts;
+    private final int authors;
+    private final LocalDateTime start;
+    private final Duration span;
+    private final double viralShare;
+    private final long[] viralPostIds;
+    private final double[] categoryWeights;
+    private final double[] viralWeights;
+
+    public SeedDataGenerator(long seed, int categories, long posts, int authors,
+                             CategoryDistribution distribution, double zipfExponent,
+                             int viralPosts, double viralShare, LocalDateTime start, Duration span) {
+        this.seed = seed;
+        this.categories = categories;
+        this.posts = posts;
+        this.authors = authors;
+        this.start = start;
+        this.span = span;
+        this.viralShare = viralPosts > 0 ? viralShare : 0;
+        this.categoryWeights = cumulativeWeights(categories,
+                distribution == CategoryDistribution.ZIPF ? zipfExponent : 0);
+        this.viralWeights = cumulativeWeights(Math.max(viralPosts, 1), zipfExponent);
+        this.viralPostIds = new long[viralPosts];
+        for (int i = 0; i < viralPosts; i++) {
+            viralPostIds[i] = 1 + Math.floorMod(new SplittableRandom(mix(VIRAL_STREAM, i)).nextLong(), posts);
+        }
+    }
+
+    public List<CategoryRow> categories() {
+        List<CategoryRow> rows = new ArrayList<>(categories);
+        for (int i = 1; i <= categories; i++) {
+            rows.add(new CategoryRow(i, "Category " + i, "Seeded category " + i));
+        }
+        return rows;
+    }
+
+    public List<PostRow> posts(long fromId, long toId) {
+        List<PostRow> rows = new ArrayList<>((int) (toId - fromId + 1));
+        for (long id = fromId; id <= toId; id++) {
+            SplittableRandom random = new SplittableRandom(mix(POST_STREAM, id));
+            String content = (sentence(random, 40 + random.nextInt(160)) + " " + hashtags(random)).trim();
+            rows.add(new PostRow(id, capitalize(sentence(random, 4 + random.nextInt(6))), content,
+                    "author-" + random.nextInt(authors), 1 + sample(categoryWeights, random), postCreatedAt(id)));
+        }
+        return rows;
+    }
+
+    public List<CommentRow> comments(long fromId, long toId) {
+        List<CommentRow> rows = new ArrayList<>((int) (toId - fromId + 1));
+        for (long id = fromId; id <= toId; id++) {
+            SplittableRandom random = new SplittableRandom(mix(COMMENT_STREAM, id));
+            long postId = random.nextDouble() < viralShare
+                    ? viralPostIds[sample(viralWeights, random)]
+                    : 1 + random.nextLong(posts);
+            LocalDateTime postCreatedAt = postCreatedAt(postId);
+            long remainingSeconds = Math.max(1, Duration.between(postCreatedAt, start.plus(span)).getSeconds());
+            rows.add(new CommentRow(id, capitalize(sentence(random, 5 + random.nextInt(30))),
+                    "author-" + random.nextInt(authors), postId,
+                    postCreatedAt.plusSeconds(random.nextLong(remainingSeconds)), CommentPaths.segment(id)));
+        }
+        return rows;
+    }
+
+    LocalDateTime postCreatedAt(long postId) {
+        return start.plusSeconds(span.getSeconds() * (postId - 1) / posts);
+    }
+
+    private long mix(long stream, long id) {
+        long z = seed ^ (stream * 0x9E3779B97F4A7C15L) ^ (id * 0xC2B2AE3D27D4EB4FL);
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static double[] cumulativeWeights(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] <= target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder builder = new StringBuilder(words * 7);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.append('.').toString();
+    }
+
+    private static String hashtags(SplittableRandom random) {
+        StringBuilder builder = new StringBuilder();
+        int count = random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            builder.append(i > 0 ? " #" : "#").append(TAGS[random.nextInt(TAGS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
@@ -0,0 +1,182 @@
+package com.blogapi.service;
+
+import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.dto.AuthorStatsResponse;
+import com.blogapi.model.entity.AuthorStats;
+import com.blogapi.repository.AuthorStatsRepository;
+import com.blogapi.sharding.ShardContext;
+import com.blogapi.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains {@code author_stats} incrementally: every write adjusts the author's totals in its own
+ * transaction, so reading stats is a primary key lookup instead of {@code COUNT(*)} scans. Each
+ * shard keeps the totals of its own posts and comments; reads add them up.
+ */
+@Service
+@Slf4j
+@Transactional
+public class AuthorStatsService {
+
+    private static final String ADD = "UPDATE author_stats SET post_count = post_count + ?, "
+            + "comment_count = comment_count + ? WHERE author = ?";
+    private static final String INSERT = "INSERT INTO author_stats (author, post_count, comment_count) VALUES (?, ?, ?)";
+    // A single statement, so writes racing on a new author cannot both insert
+    private static final String UPSERT = INSERT + " ON CONFLICT (author) DO UPDATE SET "
+            + "post_count = author_stats.post_count + EXCLUDED.post_count, "
+            + "comment_count = author_stats.comment_count + EXCLUDED.comment_count";
+    // Set-based removals: each adjusts every affected author in one statement, before the rows are deleted
+    private static final String POST_DELETED = "UPDATE author_stats SET "
+            + "post_count = post_count - (SELECT COUNT(*) FROM posts p WHERE p.id = ? AND p.author = author_stats.author), "
+            + "comment_count = comment_count - (SELECT COUNT(*) FROM comments c "
+            + "WHERE c.post_id = ? AND c.author = author_stats.author) "
+            + "WHERE author IN (SELECT author FROM posts WHERE id = ? UNION SELECT author FROM comments WHERE post_id = ?)";
+    private static final String CATEGORY_DELETED = "UPDATE author_stats SET "
+            + "post_count = post_count - (SELECT COUNT(*) FROM posts p "
+            + "WHERE p.category_id = ? AND p.author = author_stats.author), "
+            + "comment_count = comment_count - (SELECT COUNT(*) FROM comments c JOIN posts p ON p.id = c.post_id "
+            + "WHERE p.category_id = ? AND c.author = author_stats.author) "
+            + "WHERE author IN (SELECT author FROM posts WHERE category_id = ? "
+            + "UNION SELECT c.author FROM comments c JOIN posts p ON p.id = c.post_id WHERE p.category_id = ?)";
+    private static final String SUBTREE_DELETED = "UPDATE author_stats SET "
+            + "comment_count = comment_count - (SELECT COUNT(*) FROM comments c "
+            + "WHERE c.post_id = ? AND c.path >= ? AND c.path < ? AND c.author = author_stats.author) "
+            + "WHERE author IN (SELECT author FROM comments WHERE post_id = ? AND path >= ? AND path < ?)";
+    private static final String ARCHIVED_POST_DELETED = "UPDATE author_stats SET "
+            + "post_count = post_count - (SELECT COUNT(*) FROM archived_posts p "
+            + "WHERE p.id = ? AND p.author = author_stats.author), "
+            + "comment_count = comment_count - (SELECT COUNT(*) FROM archived_comments c "
+            + "WHERE c.post_id = ? AND c.author = author_stats.author) "
+            + "WHERE author IN (SELECT author FROM archived_posts WHERE id = ? "
+            + "UNION SELECT author FROM archived_comments WHERE post_id = ?)";
+    // Archived posts and comments still count towards their authors
+    private static final String REBUILD = "INSERT INTO author_stats (author, post_count, comment_count) "
+            + "SELECT author, SUM(posts), SUM(comments) FROM ("
+            + "SELECT author, COUNT(*) AS posts, 0 AS comments FROM posts GROUP BY author "
+            + "UNION ALL SELECT author, COUNT(*) AS posts, 0 AS comments FROM archived_posts GROUP BY author "
+            + "UNION ALL SELECT author, 0 AS posts, COUNT(*) AS comments FROM comments GROUP BY author "
+            + "UNION ALL SELECT author, 0 AS posts, COUNT(*) AS comments FROM archived_comments GROUP BY author"
+            + ") counts GROUP BY author";
+
+    private final AuthorStatsRepository authorStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Boolean postgres;
+
+    public AuthorStatsService(AuthorStatsRepository authorStatsRepository, JdbcTemplate jdbcTemplate,
+                              ShardRouter shardRouter, PlatformTransactionManager transactionManager) {
+        this.authorStatsRepository = authorStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthorStatsResponse getStats(String author) {
+        List<Optional<AuthorStats>> shards = shardRouter.onAllShards(() -> authorStatsRepository.findById(author));
+        if (shards.stream().noneMatch(Optional::isPresent)) {
+            throw new ResourceNotFoundException("Author not found: " + author);
+        }
+        long posts = 0;
+        long comments = 0;
+        for (Optional<AuthorStats> stats : shards) {
+            if (stats.isPresent()) {
+                posts += stats.get().getPostCount();
+                comments += stats.get().getCommentCount();
+            }
+        }
+        return new AuthorStatsResponse(author, posts, comments);
+    }
+
+    public void postAdded(String author) {
+        apply(author, 1, 0);
+    }
+
+    public void postRemoved(String author) {
+        apply(author, -1, 0);
+    }
+
+    public void commentAdded(String author) {
+        apply(author, 0, 1);
+    }
+
+    public void commentRemoved(String author) {
+        apply(author, 0, -1);
+    }
+
+    public void postDeleted(Long postId) {
+        jdbcTemplate.update(POST_DELETED, postId, postId, postId, postId);
+    }
+
+    public void archivedPostDeleted(Long postId) {
+        jdbcTemplate.update(ARCHIVED_POST_DELETED, postId, postId, postId, postId);
+    }
+
+    public void categoryDeleted(Long categoryId) {
+        jdbcTemplate.update(CATEGORY_DELETED, categoryId, categoryId, categoryId, categoryId);
+    }
+
+    public void commentSubtreeDeleted(Long postId, String fromPath, String toPath) {
+        jdbcTemplate.update(SUBTREE_DELETED, postId, fromPath, toPath, postId, fromPath, toPath);
+    }
+
+    /**
+     * Recomputes every author's totals from the posts and comments tables.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.update("DELETE FROM author_stats");
+        int authors = jdbcTemplate.update(REBUILD);
+        log.info("Rebuilt stats for {} authors in {} ms", authors, System.currentTimeMillis() - start);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildIfMissing() {
+        for (String shard : shardRouter.shards()) {
+            ShardContext.run(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+                if (authorStatsRepository.count() == 0) {
+                    rebuild();
+                }
+            }));
+        }
+    }
+
+    private void apply(String author, long posts, long comments) {
+        if (isPostgres()) {
+            jdbcTemplate.update(UPSERT, author, posts, comments);
+            return;
+        }
+        if (jdbcTemplate.update(ADD, posts, comments, author) == 0) {
+            try {
+                jdbcTemplate.update(INSERT, author, posts, comments);
+            } catch (DuplicateKeyException ex) {
+                // Another write inserted the author first; a failed statement leaves the transaction usable here
+                jdbcTemplate.update(ADD, posts, comments, author);
+            }
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean detected = postgres;
+        if (detected == null) {
+            detected = DatabaseProducts.isPostgres(jdbcTemplate);
+            postgres = detected;
+        }
+        return detected;
+    }
+}
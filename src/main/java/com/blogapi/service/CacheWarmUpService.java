@@ -0,0 +1,162 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.MostViewedPostResponse;
+import com.blogapi.model.dto.TrendingPostResponse;
+import com.blogapi.model.entity.Category;
+import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.PostContentRepository;
+import com.blogapi.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads every category, plus the post rows and bodies of the newest posts of each category and of
+ * the hottest posts (trending and most viewed, with their view counts), into the second-level
+ * cache after startup, so a fresh instance serves post detail reads for those posts without the
+ * database. Post lists are projections that never touch the entity cache; the homepage feed is
+ * covered by {@link FeedSnapshotService} and other lists stay database reads. Categories are
+ * partitioned by id across the warm-up executor. The {@code warmUp} health indicator keeps the
+ * instance out of service, and out of the readiness group, until this has finished.
+ */
+@Service
+@Slf4j
+public class CacheWarmUpService {
+
+    public enum State { PENDING, WARMING, WARM, FAILED, DISABLED }
+
+    public record Status(State state, int categories, int posts, int hotPosts, long millis) {
+    }
+
+    private final CategoryRepository categoryRepository;
+    private final PostRepository postRepository;
+    private final PostContentRepository postContentRepository;
+    private final PostViewCounter postViewCounter;
+    private final TrendingPostTracker trendingPostTracker;
+    private final Executor executor;
+    private final boolean enabled;
+    private final int partitions;
+    private final int postsPerCategory;
+    private final int hotPosts;
+
+    private volatile Status status = new Status(State.PENDING, 0, 0, 0, 0);
+
+    public CacheWarmUpService(CategoryRepository categoryRepository,
+                              PostRepository postRepository,
+                              PostContentRepository postContentRepository,
+                              PostViewCounter postViewCounter,
+                              TrendingPostTracker trendingPostTracker,
+                              @Qualifier("warmUpExecutor") Executor executor,
+                              @Value("${blog.warmup.enabled:true}") boolean enabled,
+                              @Value("${blog.warmup.threads:4}") int partitions,
+                              @Value("${blog.warmup.posts-per-category:50}") int postsPerCategory,
+                              @Value("${blog.warmup.hot-posts:200}") int hotPosts) {
+        this.categoryRepository = categoryRepository;
+        this.postRepository = postRepository;
+        this.postContentRepository = postContentRepository;
+        this.postViewCounter = postViewCounter;
+        this.trendingPostTracker = trendingPostTracker;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.partitions = Math.max(1, partitions);
+        this.postsPerCategory = postsPerCategory;
+        this.hotPosts = hotPosts;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (!enabled) {
+            status = new Status(State.DISABLED, 0, 0, 0, 0);
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "cache-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs the warm-up; a failure is logged and leaves the instance to serve with cold caches.
+     */
+    public void warmUp() {
+        status = new Status(State.WARMING, 0, 0, 0, 0);
+        long start = System.currentTimeMillis();
+        try {
+            List<Long> categoryIds = categoryRepository.findAll().stream().map(Category::getId).toList();
+            List<CompletableFuture<Integer>> loads = new ArrayList<>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                List<Long> ids = partition(categoryIds, partition);
+                if (!ids.isEmpty()) {
+                    loads.add(CompletableFuture.supplyAsync(() -> loadNewestPosts(ids), executor));
+                }
+            }
+            // The hot posts load on this thread while the partitions run
+            int hot = loadHotPosts();
+            int posts = 0;
+            for (CompletableFuture<Integer> load : loads) {
+                posts += load.join();
+            }
+
+            long millis = System.currentTimeMillis() - start;
+            status = new Status(State.WARM, categoryIds.size(), posts, hot, millis);
+            log.info("Warm-up loaded {} categories, {} recent posts and {} hot posts in {} ms",
+                    categoryIds.size(), posts, hot, millis);
+        } catch (RuntimeException ex) {
+            status = new Status(State.FAILED, 0, 0, 0, System.currentTimeMillis() - start);
+            log.warn("Warm-up failed, serving with cold caches", ex);
+        }
+    }
+
+    private List<Long> partition(List<Long> categoryIds, int partition) {
+        List<Long> ids = new ArrayList<>();
+        for (Long id : categoryIds) {
+            if (Math.floorMod(id, partitions) == partition) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private int loadNewestPosts(List<Long> categoryIds) {
+        List<Long> postIds = new ArrayList<>();
+        for (Long categoryId : categoryIds) {
+            postRepository.findByCategoryIdOrderByCreatedAtDescIdDesc(categoryId,
+                    PageRequest.of(0, postsPerCategory)).forEach(post -> postIds.add(post.getId()));
+        }
+        if (!postIds.isEmpty()) {
+            postContentRepository.findAllById(postIds);
+        }
+        return postIds.size();
+    }
+
+    private int loadHotPosts() {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (TrendingPostResponse trending : trendingPostTracker.getTrending(hotPosts)) {
+            ids.add(trending.postId());
+        }
+        for (MostViewedPostResponse viewed : postViewCounter.getMostViewed(hotPosts)) {
+            ids.add(viewed.postId());
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        postViewCounter.getViewCounts(ids);
+        int loaded = postRepository.findAllById(ids).size();
+        postContentRepository.findAllById(ids);
+        return loaded;
+    }
+}
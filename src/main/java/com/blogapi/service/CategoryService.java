@@ -1,10 +1,14 @@
 package com.blogapi.service;
 
+import com.blogapi.cache.CacheInvalidationBus;
 import com.blogapi.model.dto.CategoryRequest;
 import com.blogapi.model.dto.CategoryResponse;
+import com.blogapi.exception.ConflictException;
 import com.blogapi.exception.ResourceNotFoundException;
 import com.blogapi.model.entity.Category;
 import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.PostRepository;
+import com.blogapi.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +23,12 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final TrendingPostTracker trendingPostTracker;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PostViewCounter postViewCounter;
+    private final PostRepository postRepository;
+    private final AuthorStatsService authorStatsService;
+    private final ShardRouter shardRouter;
 
     public List<CategoryResponse> getAllCategories() {
         return categoryRepository.findAll().stream()
@@ -49,21 +59,29 @@ public class CategoryService {
         category.setDescription(categoryRequest.getDescription());
 
         Category updatedCategory = categoryRepository.save(category);
+        cacheInvalidationBus.categoryChanged(id);
         return mapToResponse(updatedCategory);
     }
 
     public void deleteCategory(Long id) {
-        if (!categoryRepository.existsById(id)) {
+        if (shardRouter.isShardedCategory(id)) {
+            // Its posts live on another shard, out of reach of this transaction
+            throw new ConflictException("Category " + id + " is sharded and cannot be deleted");
+        }
+        // Posts and their comments go with the category; bodies follow through ON DELETE CASCADE.
+        // Their view counts and trending entries are keyed by post id, so those ids are read first.
+        List<Long> postIds = postRepository.findIdsByCategoryId(id);
+        authorStatsService.categoryDeleted(id);
+        postViewCounter.removeAll(postIds);
+        postRepository.deletePostsByCategoryId(id);
+        if (categoryRepository.deleteCategoryById(id) == 0) {
             throw new ResourceNotFoundException("Category not found with id: " + id);
         }
-        categoryRepository.deleteById(id);
+        postIds.forEach(trendingPostTracker::remove);
+        cacheInvalidationBus.categoryChanged(id);
     }
 
     private CategoryResponse mapToResponse(Category category) {
-        return CategoryResponse.builder()
-                .id(category.getId())
-                .name(category.getName())
-                .description(category.getDescription())
-                .build();
+        return new CategoryResponse(category.getId(), category.getName(), category.getDescription());
     }
 }
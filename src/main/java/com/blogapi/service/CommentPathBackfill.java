@@ -0,0 +1,67 @@
+package com.blogapi.service;
+
+import com.blogapi.model.entity.CommentPaths;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Gives comments written before threading existed their materialized path. Those were all
+ * top-level comments, so each becomes a root: its path is its own id segment. Comment threads
+ * are read by path, so this runs during startup, before any request can read one; it takes the
+ * {@link EntityManagerFactory} so Hibernate has added the {@code path} column first.
+ */
+@Component
+@Lazy(false)
+@Slf4j
+public class CommentPathBackfill {
+
+    private static final String SELECT_BATCH = "SELECT id FROM comments WHERE path IS NULL AND parent_id IS NULL "
+            + "ORDER BY id LIMIT ?";
+    private static final String SET_PATH = "UPDATE comments SET path = ?, depth = 0 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public CommentPathBackfill(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               EntityManagerFactory entityManagerFactory,
+                               @Value("${blog.comments.path-backfill.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        long start = System.nanoTime();
+        long filled = 0;
+        while (true) {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> batch = jdbcTemplate.queryForList(SELECT_BATCH, Long.class, batchSize);
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(SET_PATH, batch.stream()
+                            .map(id -> new Object[] {CommentPaths.segment(id), id})
+                            .toList());
+                }
+                return batch;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            filled += ids.size();
+        }
+        if (filled > 0) {
+            log.info("Set the thread path of {} legacy comments in {} ms", filled, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
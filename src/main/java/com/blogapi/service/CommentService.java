@@ -1,18 +1,37 @@
 package com.blogapi.service;
 
+import com.blogapi.cache.CacheInvalidationBus;
+import com.blogapi.exception.BadRequestException;
+import com.blogapi.model.dto.CommentNodeResponse;
+import com.blogapi.model.dto.FeedCursor;
+import com.blogapi.model.dto.KeysetPage;
 import com.blogapi.model.dto.CommentRequest;
 import com.blogapi.model.dto.CommentResponse;
+import com.blogapi.model.dto.KeysetPage;
 import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.entity.ArchivedComment;
 import com.blogapi.model.entity.Comment;
-import com.blogapi.model.entity.Post;
+import com.blogapi.model.entity.CommentPaths;
+import com.blogapi.repository.ArchivedCommentRepository;
 import com.blogapi.repository.CommentRepository;
 import com.blogapi.repository.PostRepository;
+import com.blogapi.sharding.ShardKey;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,56 +40,284 @@ import java.util.stream.Collectors;
 @SuppressWarnings("null")
 public class CommentService {
 
+    // Bounds a thread response however wide the tree is
+    static final int MAX_THREAD_NODES = 1_000;
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final TrendingPostTracker trendingPostTracker;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AuthorStatsService authorStatsService;
+    private final ArchivedCommentRepository archivedCommentRepository;
 
-    public List<CommentResponse> getCommentsByPostId(Long postId) {
-        if (!postRepository.existsById(postId)) {
-            throw new ResourceNotFoundException("Post not found with id: " + postId);
+    public List<CommentResponse> getCommentsByPostId(@ShardKey(ShardKey.Source.ID) Long postId) {
+        List<Comment> comments = commentRepository.findByPostIdIfPostExists(postId);
+        if (comments.isEmpty()) {
+            return getArchivedComments(postId);
         }
-        return commentRepository.findByPostId(postId).stream()
+        return comments.stream()
+                .filter(Objects::nonNull)
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
-    public CommentResponse addComment(Long postId, CommentRequest commentRequest) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + postId));
+    public KeysetPage<CommentResponse> getCommentsByAuthor(String author, String cursor, int size) {
+        int limit = FeedPages.limit(size);
+        PageRequest firstRows = PageRequest.of(0, limit + 1);
+        List<Comment> comments;
+        if (cursor == null) {
+            comments = commentRepository.findFeedByAuthor(author, firstRows);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            comments = commentRepository.findFeedByAuthorAfter(author, after.createdAt(), after.id(), firstRows);
+        }
+        return FeedPages.page(comments.stream().map(this::mapToResponse).toList(), limit,
+                comment -> new FeedCursor(comment.createdAt(), comment.id()));
+    }
 
+    public CommentResponse addComment(@ShardKey(ShardKey.Source.ID) Long postId, CommentRequest commentRequest) {
         Comment comment = new Comment();
         comment.setContent(commentRequest.getContent());
         comment.setAuthor(commentRequest.getAuthor());
-        comment.setPost(post);
+        // The foreign key rejects a missing post, so there is no need to load it first
+        comment.setPost(postRepository.getReferenceById(postId));
         comment.setCreatedAt(LocalDateTime.now());
+        comment.setDepth(0);
 
-        Comment savedComment = commentRepository.save(comment);
+        Comment savedComment;
+        try {
+            savedComment = commentRepository.save(comment);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+        savedComment.setPath(CommentPaths.segment(savedComment.getId()));
+        authorStatsService.commentAdded(savedComment.getAuthor());
+        trendingPostTracker.record(postId, savedComment.getCreatedAt());
+        cacheInvalidationBus.commentsChanged(postId);
         return mapToResponse(savedComment);
     }
 
-    public CommentResponse updateComment(Long id, CommentRequest commentRequest) {
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
+    public CommentResponse addReply(@ShardKey(ShardKey.Source.ID) Long parentId, CommentRequest commentRequest) {
+        Comment parent = findComment(parentId);
+        if (parent.getPath() == null) {
+            // Comments created before threading are top-level
+            parent.setPath(CommentPaths.segment(parent.getId()));
+            parent.setDepth(0);
+        }
+        if (parent.getDepth() >= CommentPaths.MAX_DEPTH) {
+            throw new BadRequestException("Replies cannot be nested deeper than " + CommentPaths.MAX_DEPTH + " levels");
+        }
+
+        Comment reply = new Comment();
+        reply.setContent(commentRequest.getContent());
+        reply.setAuthor(commentRequest.getAuthor());
+        reply.setPost(parent.getPost());
+        reply.setParentId(parent.getId());
+        reply.setDepth(parent.getDepth() + 1);
+        reply.setCreatedAt(LocalDateTime.now());
+
+        Comment savedReply = commentRepository.save(reply);
+        savedReply.setPath(CommentPaths.child(parent.getPath(), savedReply.getId()));
+        authorStatsService.commentAdded(savedReply.getAuthor());
+        trendingPostTracker.record(parent.getPost().getId(), savedReply.getCreatedAt());
+        cacheInvalidationBus.commentsChanged(parent.getPost().getId());
+        return mapToResponse(savedReply);
+    }
+
+    public List<CommentResponse> getReplies(@ShardKey(ShardKey.Source.ID) Long parentId, Pageable pageable) {
+        List<Comment> replies = commentRepository.findByParentIdOrderByPath(parentId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        // Only an empty page needs to tell a missing comment from one without replies
+        if (replies.isEmpty() && !commentRepository.existsById(parentId)) {
+            throw new ResourceNotFoundException("Comment not found with id: " + parentId);
+        }
+        return replies.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    public KeysetPage<CommentNodeResponse> getPostThread(@ShardKey(ShardKey.Source.ID) Long postId, Integer maxDepth,
+                                                         String cursor, int size) {
+        int limit = FeedPages.limit(size);
+        List<Comment> roots = commentRepository.findRootsAfter(postId, after(cursor), PageRequest.of(0, limit + 1));
+        if (roots.isEmpty() && !postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+        boolean hasNext = roots.size() > limit;
+        List<Comment> page = hasNext ? roots.subList(0, limit) : roots;
+        List<CommentNodeResponse> thread = loadThread(new ArrayList<>(page), page, depthLimit(0, maxDepth), limit,
+                new HashSet<>());
+        return new KeysetPage<>(thread, hasNext ? String.valueOf(page.get(limit - 1).getId()) : null);
+    }
+
+    /**
+     * A comment with its replies; {@code cursor} pages through its direct replies.
+     */
+    public CommentNodeResponse getCommentThread(@ShardKey(ShardKey.Source.ID) Long id, Integer maxDepth,
+                                                String cursor, int size) {
+        Comment root = findComment(id);
+        int depthLimit = depthLimit(depthOf(root), maxDepth);
+        int limit = FeedPages.limit(size);
+        List<Comment> comments = new ArrayList<>(List.of(root));
+        Set<Long> moreReplies = new HashSet<>();
+        List<Comment> level = comments;
+        if (depthOf(root) < depthLimit) {
+            List<Comment> replies = commentRepository.findRepliesAfter(id, after(cursor), PageRequest.of(0, limit + 1));
+            if (replies.size() > limit) {
+                moreReplies.add(id);
+                replies = replies.subList(0, limit);
+            }
+            comments.addAll(replies);
+            level = replies;
+        }
+        return loadThread(comments, level, depthLimit, limit, moreReplies).get(0);
+    }
+
+    public CommentResponse updateComment(@ShardKey(ShardKey.Source.ID) Long id, CommentRequest commentRequest) {
+        Comment comment = findComment(id);
+        if (!comment.getAuthor().equals(commentRequest.getAuthor())) {
+            authorStatsService.commentRemoved(comment.getAuthor());
+            authorStatsService.commentAdded(commentRequest.getAuthor());
+        }
 
         comment.setContent(commentRequest.getContent());
         comment.setAuthor(commentRequest.getAuthor());
 
         Comment updatedComment = commentRepository.save(comment);
+        cacheInvalidationBus.commentsChanged(comment.getPost().getId());
         return mapToResponse(updatedComment);
     }
 
-    public void deleteComment(Long id) {
-        if (!commentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Comment not found with id: " + id);
+    public void deleteComment(@ShardKey(ShardKey.Source.ID) Long id) {
+        Comment comment = findComment(id);
+        Long postId = comment.getPost().getId();
+        cacheInvalidationBus.commentsChanged(postId);
+        if (comment.getPath() == null) {
+            authorStatsService.commentRemoved(comment.getAuthor());
+            commentRepository.delete(comment);
+            trendingPostTracker.removeComment(postId, comment.getCreatedAt());
+            return;
         }
-        commentRepository.deleteById(id);
+        String upperBound = CommentPaths.upperBound(comment.getPath());
+        authorStatsService.commentSubtreeDeleted(postId, comment.getPath(), upperBound);
+        // Removes the comment together with all of its replies
+        // Only a trending post needs the deleted comments' times
+        List<LocalDateTime> removed = trendingPostTracker.isTracked(postId)
+                ? commentRepository.findSubtreeCreatedAt(postId, comment.getPath(), upperBound)
+                : List.of();
+        commentRepository.deleteSubtree(postId, comment.getPath(), upperBound);
+        trendingPostTracker.removeComments(postId, removed);
+    }
+
+    private List<CommentResponse> getArchivedComments(Long postId) {
+        List<ArchivedComment> comments = archivedCommentRepository.findByPostIdIfArchived(postId);
+        if (comments.isEmpty()) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+        return comments.stream()
+                .filter(Objects::nonNull)
+                .map(comment -> new CommentResponse(comment.getId(), comment.getContent(), comment.getAuthor(),
+                        comment.getCreatedAt(), comment.getParentId(),
+                        comment.getDepth() == null ? 0 : comment.getDepth()))
+                .collect(Collectors.toList());
+    }
+
+    private Comment findComment(Long id) {
+        return commentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
+    }
+
+    private int depthLimit(int rootDepth, Integer maxDepth) {
+        if (maxDepth == null) {
+            return CommentPaths.MAX_DEPTH;
+        }
+        if (maxDepth < 0) {
+            throw new BadRequestException("maxDepth must not be negative");
+        }
+        return (int) Math.min((long) rootDepth + maxDepth, CommentPaths.MAX_DEPTH);
+    }
+
+    private long after(String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Loads the replies below {@code level} one level per query: at most {@code limit} per comment,
+     * down to {@code depthLimit} and {@link #MAX_THREAD_NODES} comments in all. Every comment whose
+     * replies were cut off ends up in {@code moreReplies}.
+     */
+    private List<CommentNodeResponse> loadThread(List<Comment> comments, List<Comment> level, int depthLimit,
+                                                 int limit, Set<Long> moreReplies) {
+        List<Long> unexpanded = new ArrayList<>();
+        while (!level.isEmpty()) {
+            List<Long> parents = new ArrayList<>(level.size());
+            for (Comment comment : level) {
+                (depthOf(comment) < depthLimit ? parents : unexpanded).add(comment.getId());
+            }
+            if (parents.isEmpty()) {
+                break;
+            }
+            if (comments.size() >= MAX_THREAD_NODES) {
+                unexpanded.addAll(parents);
+                break;
+            }
+            Map<Long, Integer> replyCounts = new HashMap<>();
+            List<Comment> next = new ArrayList<>();
+            for (Comment reply : commentRepository.findFirstRepliesOf(parents, limit + 1)) {
+                int count = replyCounts.merge(reply.getParentId(), 1, Integer::sum);
+                if (count > limit || comments.size() >= MAX_THREAD_NODES) {
+                    moreReplies.add(reply.getParentId());
+                } else {
+                    comments.add(reply);
+                    next.add(reply);
+                }
+            }
+            level = next;
+        }
+        if (!unexpanded.isEmpty()) {
+            moreReplies.addAll(commentRepository.findParentIdsWithReplies(unexpanded));
+        }
+        comments.sort(Comparator.comparing(Comment::getPath, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return buildTree(comments, moreReplies);
+    }
+
+    /**
+     * Assembles path-ordered comments into trees in one pass: every parent precedes its replies.
+     */
+    private List<CommentNodeResponse> buildTree(List<Comment> comments, Set<Long> moreReplies) {
+        List<CommentNodeResponse> roots = new ArrayList<>();
+        Map<Long, CommentNodeResponse> nodes = new HashMap<>(comments.size() * 2);
+        for (Comment comment : comments) {
+            CommentNodeResponse node = toNode(comment, moreReplies.contains(comment.getId()));
+            nodes.put(node.id(), node);
+            CommentNodeResponse parent = comment.getParentId() == null ? null : nodes.get(comment.getParentId());
+            if (parent == null) {
+                roots.add(node);
+            } else {
+                parent.replies().add(node);
+            }
+        }
+        return roots;
+    }
+
+    private CommentNodeResponse toNode(Comment comment, boolean moreReplies) {
+        return new CommentNodeResponse(comment.getId(), comment.getContent(), comment.getAuthor(),
+                comment.getCreatedAt(), comment.getParentId(), depthOf(comment), moreReplies, new ArrayList<>());
     }
 
     private CommentResponse mapToResponse(Comment comment) {
-        return CommentResponse.builder()
-                .id(comment.getId())
-                .content(comment.getContent())
-                .author(comment.getAuthor())
-                .createdAt(comment.getCreatedAt())
-                .build();
+        return new CommentResponse(comment.getId(), comment.getContent(), comment.getAuthor(),
+                comment.getCreatedAt(), comment.getParentId(), depthOf(comment));
+    }
+
+    private int depthOf(Comment comment) {
+        return comment.getDepth() == null ? 0 : comment.getDepth();
     }
 }
@@ -0,0 +1,20 @@
+package com.blogapi.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Detects the database behind a {@link JdbcTemplate}, for the few statements that need
+ * PostgreSQL-specific SQL.
+ */
+final class DatabaseProducts {
+
+    private DatabaseProducts() {
+    }
+
+    static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
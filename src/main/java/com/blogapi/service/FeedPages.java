@@ -0,0 +1,32 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.FeedCursor;
+import com.blogapi.model.dto.KeysetPage;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shared page sizing for keyset feeds. Queries fetch one row more than the page size to learn
+ * whether another page follows without a count query.
+ */
+final class FeedPages {
+
+    static final int DEFAULT_SIZE = 20;
+    static final int MAX_SIZE = 100;
+
+    private FeedPages() {
+    }
+
+    static int limit(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    static <T> KeysetPage<T> page(List<T> rows, int limit, Function<T, FeedCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, limit);
+        return new KeysetPage<>(List.copyOf(content), cursorOf.apply(content.get(limit - 1)).encode());
+    }
+}
@@ -0,0 +1,237 @@
+package com.blogapi.service;
+
+import com.blogapi.cache.CacheInvalidation;
+import com.blogapi.cache.CacheInvalidationBus;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.repository.CategoryRepository;
+import com.blogapi.sharding.ShardedPostQueries;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the first pages of the homepage feed, globally and per category, as serialized JSON and
+ * its gzip encoding, so the common {@code GET /api/posts} requests are answered without a query
+ * or Jackson. Post changes (local or from other nodes) mark the affected feeds dirty; they are
+ * rebuilt once writes have been quiet for the debounce interval, or after the maximum delay
+ * under a steady stream of writes. Everything is rebuilt every max-age to pick up view counts.
+ * Stays eager under lazy initialization so snapshots exist before the first request.
+ */
+@Service
+@Lazy(false)
+@Slf4j
+public class FeedSnapshotService {
+
+    static final Sort FEED_SORT = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    public record Snapshot(byte[] json, byte[] gzip) {
+    }
+
+    private record Key(Long categoryId, int page) {
+    }
+
+    private record Entry(Snapshot snapshot, Set<Long> postIds) {
+    }
+
+    private final ShardedPostQueries postQueries;
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final int globalPages;
+    private final int categoryPages;
+    private final int maxCategories;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final long maxAgeNanos;
+
+    private final Object refreshLock = new Object();
+    private volatile Map<Key, Entry> snapshots = Map.of();
+    private final Set<Long> dirtyPosts = new HashSet<>();
+    private boolean fullRefreshPending;
+    private long firstChange;
+    private long lastChange;
+    private long lastFullRefresh;
+
+    public FeedSnapshotService(ShardedPostQueries postQueries,
+                               CategoryRepository categoryRepository,
+                               ObjectMapper objectMapper,
+                               CacheInvalidationBus cacheInvalidationBus,
+                               @Value("${blog.feed.snapshot.page-size:10}") int pageSize,
+                               @Value("${blog.feed.snapshot.pages:3}") int globalPages,
+                               @Value("${blog.feed.snapshot.category-pages:1}") int categoryPages,
+                               @Value("${blog.feed.snapshot.max-categories:50}") int maxCategories,
+                               @Value("${blog.feed.snapshot.debounce:1000}") long debounceMillis,
+                               @Value("${blog.feed.snapshot.max-delay:5000}") long maxDelayMillis,
+                               @Value("${blog.feed.snapshot.max-age:30000}") long maxAgeMillis) {
+        this.postQueries = postQueries;
+        this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.globalPages = globalPages;
+        this.categoryPages = categoryPages;
+        this.maxCategories = maxCategories;
+        this.debounceNanos = debounceMillis * 1_000_000;
+        this.maxDelayNanos = maxDelayMillis * 1_000_000;
+        this.maxAgeNanos = maxAgeMillis * 1_000_000;
+        this.lastFullRefresh = System.nanoTime() - maxAgeNanos;
+        cacheInvalidationBus.addListener(this::changed);
+    }
+
+    /**
+     * Returns the snapshot for a feed page, or {@code null} when the page is not precomputed.
+     */
+    public Snapshot find(Long categoryId, Pageable pageable) {
+        if (pageable.getPageSize() != pageSize || !FEED_SORT.equals(pageable.getSort())) {
+            return null;
+        }
+        Entry entry = snapshots.get(new Key(categoryId, pageable.getPageNumber()));
+        return entry == null ? null : entry.snapshot();
+    }
+
+    synchronized void changed(CacheInvalidation invalidation) {
+        switch (invalidation.type()) {
+            case POST -> dirtyPosts.add(invalidation.id());
+            case CATEGORY -> fullRefreshPending = true;
+            case POST_COMMENTS -> {
+                return;
+            }
+        }
+        long now = System.nanoTime();
+        if (firstChange == 0) {
+            firstChange = now;
+        }
+        lastChange = now;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        refreshAll();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.feed.snapshot.tick:250}")
+    public void refreshIfDue() {
+        Set<Long> posts;
+        synchronized (this) {
+            long now = System.nanoTime();
+            boolean settled = firstChange != 0
+                    && (now - lastChange >= debounceNanos || now - firstChange >= maxDelayNanos);
+            if (now - lastFullRefresh >= maxAgeNanos || fullRefreshPending && settled) {
+                posts = null;
+            } else if (settled) {
+                posts = Set.copyOf(dirtyPosts);
+                dirtyPosts.clear();
+                firstChange = 0;
+            } else {
+                return;
+            }
+        }
+        if (posts == null) {
+            refreshAll();
+        } else {
+            refreshPosts(posts);
+        }
+    }
+
+    public void refreshAll() {
+        synchronized (this) {
+            fullRefreshPending = false;
+            dirtyPosts.clear();
+            firstChange = 0;
+            lastFullRefresh = System.nanoTime();
+        }
+        synchronized (refreshLock) {
+            Map<Key, Entry> refreshed = new HashMap<>();
+            build(null, globalPages, refreshed);
+            for (Long categoryId : categoryRepository.findIds(PageRequest.of(0, maxCategories))) {
+                build(categoryId, categoryPages, refreshed);
+            }
+            snapshots = Map.copyOf(refreshed);
+            log.debug("Rebuilt {} feed snapshots", refreshed.size());
+        }
+    }
+
+    void refreshPosts(Set<Long> postIds) {
+        synchronized (refreshLock) {
+            Map<Key, Entry> current = snapshots;
+            Set<Long> categories = new LinkedHashSet<>(postQueries.findCategoryIdsByIdIn(postIds));
+            Set<Long> known = new HashSet<>();
+            for (Map.Entry<Key, Entry> entry : current.entrySet()) {
+                Long categoryId = entry.getKey().categoryId();
+                if (categoryId != null) {
+                    known.add(categoryId);
+                    // Covers posts that were deleted or moved out of the category
+                    if (entry.getValue().postIds().stream().anyMatch(postIds::contains)) {
+                        categories.add(categoryId);
+                    }
+                }
+            }
+
+            Map<Key, Entry> refreshed = new HashMap<>(current);
+            build(null, globalPages, refreshed);
+            for (Long categoryId : categories) {
+                if (known.contains(categoryId) || known.size() < maxCategories) {
+                    known.add(categoryId);
+                    build(categoryId, categoryPages, refreshed);
+                }
+            }
+            snapshots = Map.copyOf(refreshed);
+            log.debug("Rebuilt feed snapshots for {} changed posts", postIds.size());
+        }
+    }
+
+    private void build(Long categoryId, int pages, Map<Key, Entry> target) {
+        for (int page = 0; page < pages; page++) {
+            PageRequest pageRequest = PageRequest.of(page, pageSize, FEED_SORT);
+            Page<PostResponse> posts = categoryId == null
+                    ? postQueries.findAllResponses(pageRequest)
+                    : postQueries.findResponsesByCategoryId(categoryId, pageRequest);
+            Set<Long> postIds = new HashSet<>();
+            for (PostResponse post : posts) {
+                postIds.add(post.id());
+            }
+            target.put(new Key(categoryId, page), new Entry(serialize(posts), Set.copyOf(postIds)));
+            if (!posts.hasNext()) {
+                // Later pages are empty; leave them to the regular query path
+                for (int empty = page + 1; empty < pages; empty++) {
+                    target.remove(new Key(categoryId, empty));
+                }
+                return;
+            }
+        }
+    }
+
+    private Snapshot serialize(Page<PostResponse> posts) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(posts);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new Snapshot(json, compressed.toByteArray());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize feed snapshot", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.blogapi.service;
+
+import com.blogapi.exception.BadRequestException;
+import com.blogapi.exception.ConflictException;
+import com.blogapi.model.entity.IdempotencyKey;
+import com.blogapi.repository.IdempotencyKeyRepository;
+import com.blogapi.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes writes safe to retry. The first request with a key runs the write and stores its
+ * response in the same transaction; later requests with the key get that response back without
+ * touching the write path. Recent keys are held in a bounded in-memory map, older ones (and keys
+ * written by other nodes) are read from the {@code idempotency_keys} table until they expire.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final int MAX_KEY_LENGTH = 200;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Map<String, Entry> recent;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              ObjectMapper objectMapper,
+                              ShardRouter shardRouter,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${blog.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${blog.idempotency.max-entries:10000}") int maxEntries) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Transactional
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> write) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        Optional<T> replay = lookup(id, fingerprint, responseType);
+        if (replay.isPresent()) {
+            log.debug("Replaying stored response for {}", id);
+            return replay.get();
+        }
+
+        if (!inFlight.add(id)) {
+            throw new ConflictException("A request with this " + HEADER + " is already in progress");
+        }
+        boolean synchronizing = TransactionSynchronizationManager.isSynchronizationActive();
+        if (synchronizing) {
+            // Registered before the write so the key is freed however the transaction ends
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    inFlight.remove(id);
+                }
+            });
+        }
+        try {
+            T response = write.get();
+            Entry entry = new Entry(fingerprint, response, LocalDateTime.now());
+            store(new IdempotencyKey(id, fingerprint, serialize(response), entry.createdAt()));
+            if (synchronizing) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recent.put(id, entry);
+                    }
+                });
+            } else {
+                recent.put(id, entry);
+            }
+            return response;
+        } finally {
+            if (!synchronizing) {
+                inFlight.remove(id);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.idempotency.purge-interval:600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        recent.values().removeIf(entry -> entry.createdAt().isBefore(cutoff));
+        // Keys are stored with the write they protect, so every shard holds some
+        int purged = 0;
+        for (Integer count : shardRouter.onAllShards(() -> transactionTemplate.execute(
+                status -> idempotencyKeyRepository.deleteCreatedBefore(cutoff)))) {
+            purged += count == null ? 0 : count;
+        }
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    /**
+     * SHA-256 of the serialized request, so a key reused for a different body is always caught.
+     */
+    String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not fingerprint idempotent request", ex);
+        }
+    }
+
+    private <T> Optional<T> lookup(String id, String fingerprint, Class<T> responseType) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        Entry entry = recent.get(id);
+        if (entry == null) {
+            entry = idempotencyKeyRepository.findById(id)
+                    .map(stored -> new Entry(stored.getFingerprint(), deserialize(stored.getResponseBody(), responseType),
+                            stored.getCreatedAt()))
+                    .orElse(null);
+            if (entry != null && !entry.createdAt().isBefore(cutoff)) {
+                recent.put(id, entry);
+            }
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.createdAt().isBefore(cutoff)) {
+            // Not purged yet; free the key so it can be stored again
+            recent.remove(id);
+            idempotencyKeyRepository.deleteExpired(id, cutoff);
+            return Optional.empty();
+        }
+        if (!fingerprint.equals(entry.fingerprint())) {
+            throw new BadRequestException(HEADER + " was already used for a different request");
+        }
+        return Optional.of(responseType.cast(entry.response()));
+    }
+
+    private void store(IdempotencyKey key) {
+        try {
+            idempotencyKeyRepository.saveAndFlush(key);
+        } catch (DataIntegrityViolationException ex) {
+            // Another node stored the key first; rolling back discards this duplicate write
+            throw new ConflictException("A request with this " + HEADER + " is already in progress");
+        }
+    }
+
+    private String serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not store response for idempotent replay", ex);
+        }
+    }
+
+    private <T> T deserialize(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read stored idempotent response", ex);
+        }
+    }
+
+    private record Entry(String fingerprint, Object response, LocalDateTime createdAt) {
+    }
+}
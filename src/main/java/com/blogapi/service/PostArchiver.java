@@ -0,0 +1,157 @@
+package com.blogapi.service;
+
+import com.blogapi.cache.CacheInvalidationBus;
+import com.blogapi.model.entity.Post;
+import com.blogapi.model.entity.PostContent;
+import com.blogapi.sharding.ShardContext;
+import com.blogapi.sharding.ShardRouter;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves posts older than {@code blog.archive.max-age}, with their bodies and comments, into
+ * {@code archived_posts} and {@code archived_comments}, so the hot tables and their indexes stay
+ * small. Each batch is one transaction that locks its posts first; a comment racing the move
+ * waits for it and then fails its foreign key check instead of being lost. Reads of a single
+ * post and its comments fall back to the archive; archived posts leave the trending list.
+ */
+@Service
+@Slf4j
+public class PostArchiver {
+
+    private static final String CATEGORY_POSTS = "com.blogapi.model.entity.Category.posts";
+    private static final String POST_COMMENTS = "com.blogapi.model.entity.Post.comments";
+
+    private static final String LOCK_BATCH = "SELECT id FROM posts WHERE created_at < ? "
+            + "ORDER BY created_at, id LIMIT ? FOR UPDATE";
+    private static final String ARCHIVE_POSTS = "INSERT INTO archived_posts (id, title, author, category_id, "
+            + "created_at, updated_at, excerpt, word_count, reading_time_minutes, tags, body, archived_at) "
+            + "SELECT p.id, p.title, p.author, p.category_id, p.created_at, p.updated_at, p.excerpt, p.word_count, "
+            + "p.reading_time_minutes, p.tags, c.body, ? FROM posts p LEFT JOIN post_contents c ON c.post_id = p.id "
+            + "WHERE p.id IN (%s)";
+    private static final String ARCHIVE_COMMENTS = "INSERT INTO archived_comments (id, post_id, content, author, "
+            + "created_at, parent_id, path, depth) "
+            + "SELECT id, post_id, content, author, created_at, parent_id, path, depth FROM comments "
+            + "WHERE post_id IN (%s)";
+    // Comments are deleted explicitly for schemas whose foreign key predates ON DELETE CASCADE
+    private static final String DELETE_COMMENTS = "DELETE FROM comments WHERE post_id IN (%s)";
+    private static final String DELETE_POSTS = "DELETE FROM posts WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PostProcessingService postProcessingService;
+    private final TrendingPostTracker trendingPostTracker;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final int batchSize;
+
+    public PostArchiver(JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        EntityManagerFactory entityManagerFactory,
+                        CacheInvalidationBus cacheInvalidationBus,
+                        PostProcessingService postProcessingService,
+                        TrendingPostTracker trendingPostTracker,
+                        ShardRouter shardRouter,
+                        @Value("${blog.archive.enabled:true}") boolean enabled,
+                        @Value("${blog.archive.max-age:P730D}") Duration maxAge,
+                        @Value("${blog.archive.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.postProcessingService = postProcessingService;
+        this.trendingPostTracker = trendingPostTracker;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.archive.interval:3600000}",
+            initialDelayString = "${blog.archive.initial-delay:60000}")
+    public void archiveOldPosts() {
+        if (enabled) {
+            LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+            // Each shard archives into its own archive tables
+            for (String shard : shardRouter.shards()) {
+                ShardContext.run(shard, () -> archive(cutoff));
+            }
+        }
+    }
+
+    /**
+     * Archives every post of the current shard created before the cutoff, one batch per transaction.
+     *
+     * @return the number of posts archived
+     */
+    public int archive(LocalDateTime cutoff) {
+        long start = System.currentTimeMillis();
+        int archived = 0;
+        while (true) {
+            List<Long> postIds = transactionTemplate.execute(status -> moveBatch(cutoff));
+            if (postIds == null || postIds.isEmpty()) {
+                break;
+            }
+            evict(postIds);
+            archived += postIds.size();
+            if (postIds.size() < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} posts created before {} in {} ms", archived, cutoff,
+                    System.currentTimeMillis() - start);
+        }
+        return archived;
+    }
+
+    private List<Long> moveBatch(LocalDateTime cutoff) {
+        List<Long> postIds = jdbcTemplate.queryForList(LOCK_BATCH, Long.class, Timestamp.valueOf(cutoff), batchSize);
+        if (postIds.isEmpty()) {
+            return postIds;
+        }
+        String placeholders = String.join(",", Collections.nCopies(postIds.size(), "?"));
+        Object[] ids = postIds.toArray();
+        Object[] archiveArgs = new Object[ids.length + 1];
+        archiveArgs[0] = Timestamp.valueOf(LocalDateTime.now());
+        System.arraycopy(ids, 0, archiveArgs, 1, ids.length);
+
+        jdbcTemplate.update(String.format(ARCHIVE_POSTS, placeholders), archiveArgs);
+        jdbcTemplate.update(String.format(ARCHIVE_COMMENTS, placeholders), ids);
+        jdbcTemplate.update(String.format(DELETE_COMMENTS, placeholders), ids);
+        // post_contents rows go with their posts through the foreign key
+        jdbcTemplate.update(String.format(DELETE_POSTS, placeholders), ids);
+        return postIds;
+    }
+
+    private void evict(List<Long> postIds) {
+        // The rows were moved behind Hibernate's back, so drop any cached copies
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Long postId : postIds) {
+            cache.evictEntityData(Post.class, postId);
+            cache.evictEntityData(PostContent.class, postId);
+            cache.evictCollectionData(POST_COMMENTS, postId);
+            postProcessingService.discard(postId);
+            trendingPostTracker.remove(postId);
+            cacheInvalidationBus.postChanged(postId);
+        }
+        cache.evictCollectionData(CATEGORY_POSTS);
+    }
+}
@@ -0,0 +1,88 @@
+package com.blogapi.service;
+
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public class PostContentAnalyzer {
+
+    static final int EXCERPT_LENGTH = 200;
+    static final int WORDS_PER_MINUTE = 200;
+    static final int MAX_TAGS = 10;
+    static final int MAX_TAGS_LENGTH = 500;
+
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_])#([\\p{L}\\p{N}_-]{2,40})");
+
+    public Analysis analyze(String content) {
+        String text = content == null ? "" : content;
+        int words = countWords(text);
+        int readingTime = words == 0 ? 0 : Math.max(1, (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+        return new Analysis(excerpt(text), words, readingTime, tags(text));
+    }
+
+    private int countWords(String text) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                inWord = false;
+            } else if (!inWord) {
+                inWord = true;
+                words++;
+            }
+        }
+        return words;
+    }
+
+    private String excerpt(String text) {
+        StringBuilder excerpt = new StringBuilder(Math.min(text.length(), EXCERPT_LENGTH + 3));
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length() && excerpt.length() <= EXCERPT_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = excerpt.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    excerpt.append(' ');
+                    pendingSpace = false;
+                }
+                excerpt.append(c);
+            }
+        }
+        if (excerpt.length() <= EXCERPT_LENGTH) {
+            return excerpt.toString();
+        }
+        int cut = excerpt.lastIndexOf(" ", EXCERPT_LENGTH);
+        return excerpt.substring(0, cut > 0 ? cut : EXCERPT_LENGTH) + "...";
+    }
+
+    private String tags(String text) {
+        Set<String> tags = new LinkedHashSet<>();
+        int length = 0;
+        Matcher matcher = HASHTAG.matcher(text);
+        while (matcher.find() && tags.size() < MAX_TAGS) {
+            String tag = matcher.group(1).toLowerCase(Locale.ROOT);
+            if (length + tag.length() + 1 > MAX_TAGS_LENGTH) {
+                break;
+            }
+            if (tags.add(tag)) {
+                length += tag.length() + 1;
+            }
+        }
+        return String.join(",", tags);
+    }
+
+    @Value
+    public static class Analysis {
+        String excerpt;
+        int wordCount;
+        int readingTimeMinutes;
+        String tags;
+    }
+}
@@ -0,0 +1,78 @@
+package com.blogapi.service;
+
+import com.blogapi.model.entity.PostContentConverter;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves post bodies out of the legacy {@code posts.content} column into {@code post_contents},
+ * compressing them on the way, and drops the column. Schemas created since contents were split
+ * out have no such column, and then this does nothing. Runs during startup, before requests or
+ * the post processing backfill can touch posts; it takes the {@link EntityManagerFactory} so
+ * Hibernate has created {@code post_contents} first.
+ */
+@Component
+@Lazy(false)
+@Slf4j
+public class PostContentMigration {
+
+    private static final String FIND_LEGACY_COLUMN = "SELECT COUNT(*) FROM information_schema.columns "
+            + "WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA) AND LOWER(table_name) = 'posts' "
+            + "AND LOWER(column_name) = 'content'";
+    private static final String SELECT_BATCH = "SELECT p.id, p.content FROM posts p WHERE p.id > ? "
+            + "AND NOT EXISTS (SELECT 1 FROM post_contents c WHERE c.post_id = p.id) ORDER BY p.id LIMIT ?";
+    private static final String INSERT_CONTENT = "INSERT INTO post_contents (post_id, body) VALUES (?, ?)";
+    private static final String DROP_LEGACY_COLUMN = "ALTER TABLE posts DROP COLUMN content";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PostContentMigration(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                EntityManagerFactory entityManagerFactory,
+                                @Value("${blog.content.migration.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        Long legacyColumns = jdbcTemplate.queryForObject(FIND_LEGACY_COLUMN, Long.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        long migrated = 0;
+        long lastId = 0;
+        while (true) {
+            long after = lastId;
+            List<Object[]> rows = new ArrayList<>(batchSize);
+            jdbcTemplate.query(SELECT_BATCH, resultSet -> {
+                String content = resultSet.getString(2);
+                rows.add(new Object[] {resultSet.getLong(1),
+                        PostContentConverter.encode(content == null ? "" : content)});
+            }, after, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_CONTENT, rows));
+            migrated += rows.size();
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        // DDL is transactional on PostgreSQL; without auto-commit it must be committed like the copies
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(DROP_LEGACY_COLUMN));
+        log.info("Moved {} post bodies to post_contents in {} ms", migrated, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,110 @@
+package com.blogapi.service;
+
+import com.blogapi.repository.PostRepository;
+import com.blogapi.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate post counts for paged responses that do not need an exact total. The global count
+ * is refreshed every {@code blog.totals.refresh-interval}: on PostgreSQL it is the planner's
+ * {@code pg_class.reltuples} estimate, elsewhere a plain {@code COUNT(*)}, added up over the
+ * shards. Per-category counts are counted on demand and reused for one interval.
+ */
+@Service
+@Slf4j
+public class PostCountEstimator {
+
+    private static final String RELTUPLES = "SELECT CAST(reltuples AS BIGINT) FROM pg_class "
+            + "WHERE oid = to_regclass('posts')";
+    private static final String COUNT = "SELECT COUNT(*) FROM posts";
+
+    private record Estimate(long count, long at) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostRepository postRepository;
+    private final ShardRouter shardRouter;
+    private final long refreshInterval;
+    private final Map<Long, Estimate> categories = new ConcurrentHashMap<>();
+
+    private volatile long posts = -1;
+    private volatile Boolean postgres;
+
+    public PostCountEstimator(JdbcTemplate jdbcTemplate,
+                              PostRepository postRepository,
+                              ShardRouter shardRouter,
+                              @Value("${blog.totals.refresh-interval:60000}") long refreshInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postRepository = postRepository;
+        this.shardRouter = shardRouter;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * The estimated number of live posts across every shard; must not be called in a transaction.
+     */
+    public long countPosts() {
+        long count = posts;
+        return count < 0 ? estimatePosts() : count;
+    }
+
+    /**
+     * The number of posts in a category as of at most one interval ago, counted on the current shard.
+     */
+    public long countPostsInCategory(Long categoryId) {
+        long now = System.currentTimeMillis();
+        Estimate estimate = categories.get(categoryId);
+        if (estimate == null || now - estimate.at() > refreshInterval) {
+            estimate = new Estimate(postRepository.countByCategoryId(categoryId), now);
+            categories.put(categoryId, estimate);
+        }
+        return estimate.count();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.totals.refresh-interval:60000}",
+            initialDelayString = "${blog.totals.refresh-interval:60000}")
+    public void refresh() {
+        estimatePosts();
+    }
+
+    private long estimatePosts() {
+        long count = 0;
+        for (long shard : shardRouter.onAllShards(this::estimateShard)) {
+            count += shard;
+        }
+        posts = count;
+        long stale = System.currentTimeMillis() - refreshInterval;
+        categories.values().removeIf(estimate -> estimate.at() < stale);
+        return count;
+    }
+
+    private long estimateShard() {
+        if (isPostgres()) {
+            List<Long> estimate = jdbcTemplate.queryForList(RELTUPLES, Long.class);
+            // A table that has never been analyzed reports -1
+            if (!estimate.isEmpty() && estimate.get(0) != null && estimate.get(0) >= 0) {
+                return estimate.get(0);
+            }
+        }
+        Long count = jdbcTemplate.queryForObject(COUNT, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private boolean isPostgres() {
+        Boolean detected = postgres;
+        if (detected == null) {
+            detected = DatabaseProducts.isPostgres(jdbcTemplate);
+            postgres = detected;
+            log.info("Approximate post totals use {}", detected ? "pg_class.reltuples" : "COUNT(*)");
+        }
+        return detected;
+    }
+}
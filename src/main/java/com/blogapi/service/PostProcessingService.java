@@ -0,0 +1,226 @@
+package com.blogapi.service;
+
+import com.blogapi.cache.CacheInvalidationBus;
+import com.blogapi.model.entity.Post;
+import com.blogapi.model.projection.PostContentView;
+import com.blogapi.repository.PostContentRepository;
+import com.blogapi.repository.PostRepository;
+import com.blogapi.sharding.ShardContext;
+import com.blogapi.sharding.ShardRouter;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the derived post fields (excerpt, word count, reading time, tags) off the request
+ * thread. Mutations only mark a post id as pending; a scheduled drain hands batches of ids to a
+ * bounded executor, so repeated edits of one post coalesce and results are written with a
+ * single JDBC batch per drain.
+ */
+@Service
+@Slf4j
+public class PostProcessingService {
+
+    private static final String UPDATE_DERIVED_FIELDS = "UPDATE posts SET excerpt = ?, word_count = ?, "
+            + "reading_time_minutes = ?, tags = ?, processed_at = ? WHERE id = ?";
+
+    private final PostRepository postRepository;
+    private final PostContentRepository postContentRepository;
+    private final PostContentAnalyzer analyzer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ThreadPoolTaskExecutor executor;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+    private final int backfillRangeSize;
+    private final int backfillParallelism;
+    private final boolean backfillOnStartup;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public PostProcessingService(PostRepository postRepository,
+                                 PostContentRepository postContentRepository,
+                                 PostContentAnalyzer analyzer,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 EntityManagerFactory entityManagerFactory,
+                                 CacheInvalidationBus cacheInvalidationBus,
+                                 @Qualifier("postProcessingExecutor") ThreadPoolTaskExecutor executor,
+                                 ShardRouter shardRouter,
+                                 @Value("${blog.processing.batch-size:100}") int batchSize,
+                                 @Value("${blog.processing.backfill.range-size:1000}") int backfillRangeSize,
+                                 @Value("${blog.processing.backfill.parallelism:4}") int backfillParallelism,
+                                 @Value("${blog.processing.backfill.on-startup:true}") boolean backfillOnStartup) {
+        this.postRepository = postRepository;
+        this.postContentRepository = postContentRepository;
+        this.analyzer = analyzer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.executor = executor;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.backfillRangeSize = backfillRangeSize;
+        this.backfillParallelism = backfillParallelism;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    /**
+     * Schedules a post for processing once the surrounding transaction commits.
+     */
+    public void enqueue(Long postId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.add(postId);
+                }
+            });
+        } else {
+            pending.add(postId);
+        }
+    }
+
+    public void discard(Long postId) {
+        pending.remove(postId);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.processing.flush-interval:200}")
+    public void drain() {
+        while (!pending.isEmpty()) {
+            List<Long> batch = takeBatch();
+            try {
+                executor.execute(() -> process(batch));
+            } catch (TaskRejectedException ex) {
+                log.debug("Post processing queue full, retrying {} posts on next drain", batch.size());
+                pending.addAll(batch);
+                return;
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            Thread thread = new Thread(this::backfill, "post-processing-backfill");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Processes every post that has no derived fields yet, splitting the id space into ranges
+     * that are handled in parallel.
+     */
+    public int backfill() {
+        Long minId = postRepository.findMinId();
+        Long maxId = postRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        ForkJoinPool pool = new ForkJoinPool(backfillParallelism);
+        try {
+            int processed = pool.invoke(new BackfillTask(minId, maxId));
+            log.info("Post processing backfill finished: {} posts in {} ms", processed,
+                    System.currentTimeMillis() - start);
+            return processed;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<Long> takeBatch() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        Iterator<Long> iterator = pending.iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    private void process(List<Long> postIds) {
+        try {
+            // A batch can mix shards; each part is read and written on its own shard
+            shardRouter.groupByShard(postIds).forEach((shard, ids) -> ShardContext.run(shard,
+                    () -> write(postContentRepository.findContentsByPostIdIn(ids))));
+        } catch (RuntimeException ex) {
+            log.error("Post processing failed for {} posts", postIds.size(), ex);
+        }
+    }
+
+    private int write(List<PostContentView> posts) {
+        if (posts.isEmpty()) {
+            return 0;
+        }
+        Timestamp processedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(posts.size());
+        for (PostContentView post : posts) {
+            PostContentAnalyzer.Analysis analysis = analyzer.analyze(post.getContent());
+            rows.add(new Object[] {
+                    analysis.getExcerpt(),
+                    analysis.getWordCount(),
+                    analysis.getReadingTimeMinutes(),
+                    analysis.getTags(),
+                    processedAt,
+                    post.getId()
+            });
+        }
+        // Executor and backfill threads have no transaction of their own
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_DERIVED_FIELDS, rows));
+        // The rows were changed behind Hibernate's back, so drop any cached copies
+        for (PostContentView post : posts) {
+            entityManagerFactory.getCache().evict(Post.class, post.getId());
+            cacheInvalidationBus.postChanged(post.getId());
+        }
+        return rows.size();
+    }
+
+    private class BackfillTask extends RecursiveTask<Integer> {
+        private final long fromId;
+        private final long toId;
+
+        BackfillTask(long fromId, long toId) {
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (toId - fromId < backfillRangeSize) {
+                return write(postContentRepository.findUnprocessedContentsByPostIdBetween(fromId, toId));
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            BackfillTask left = new BackfillTask(fromId, middle);
+            BackfillTask right = new BackfillTask(middle + 1, toId);
+            left.fork();
+            return right.compute() + left.join();
+        }
+    }
+}
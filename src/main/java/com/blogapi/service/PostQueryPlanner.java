@@ -0,0 +1,139 @@
+package com.blogapi.service;
+
+import com.blogapi.exception.BadRequestException;
+import com.blogapi.model.dto.PostSearchRequest;
+import com.blogapi.model.entity.Post;
+import com.blogapi.repository.PostSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns a feed search into a query that an index can serve, or refuses it. Sorts are limited to
+ * indexed columns with {@code id} appended as a tie-breaker, title sorts need a title prefix,
+ * short prefixes, large category sets and deep offsets are rejected, and page sizes are capped.
+ * Every executed plan is timed under its shape (which filters were used and the sort, not the
+ * values) so slow shapes show up in logs and in the {@code blog.posts.search} timer.
+ */
+@Component
+@Slf4j
+public class PostQueryPlanner {
+
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MIN_PREFIX_LENGTH = 3;
+    static final int MAX_CATEGORIES = 25;
+    private static final Set<String> SORTABLE = Set.of("createdAt", "title", "id");
+
+    private final MeterRegistry meterRegistry;
+    private final long maxOffset;
+    private final long slowQueryMillis;
+
+    public PostQueryPlanner(MeterRegistry meterRegistry,
+                            @Value("${blog.search.max-offset:10000}") long maxOffset,
+                            @Value("${blog.search.slow-query-millis:200}") long slowQueryMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxOffset = maxOffset;
+        this.slowQueryMillis = slowQueryMillis;
+    }
+
+    public record Plan(Specification<Post> specification, Pageable pageable, String shape) {
+    }
+
+    public Plan plan(PostSearchRequest request, Pageable pageable) {
+        List<String> shape = new ArrayList<>();
+        Specification<Post> specification = Specification.where(null);
+
+        List<Long> categories = request.getCategory();
+        if (categories != null && !categories.isEmpty()) {
+            if (categories.size() > MAX_CATEGORIES) {
+                throw new BadRequestException("At most " + MAX_CATEGORIES + " categories can be combined");
+            }
+            specification = specification.and(PostSpecifications.inCategories(Set.copyOf(categories)));
+            shape.add(categories.size() == 1 ? "category" : "categories");
+        }
+        if (hasText(request.getAuthor())) {
+            specification = specification.and(PostSpecifications.byAuthor(request.getAuthor()));
+            shape.add("author");
+        }
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().isBefore(request.getTo())) {
+            throw new BadRequestException("from must be before to");
+        }
+        if (request.getFrom() != null) {
+            specification = specification.and(PostSpecifications.createdFrom(request.getFrom()));
+        }
+        if (request.getTo() != null) {
+            specification = specification.and(PostSpecifications.createdBefore(request.getTo()));
+        }
+        if (request.getFrom() != null || request.getTo() != null) {
+            shape.add("range");
+        }
+        boolean prefix = hasText(request.getQ());
+        if (prefix) {
+            if (request.getQ().length() < MIN_PREFIX_LENGTH) {
+                throw new BadRequestException("q must have at least " + MIN_PREFIX_LENGTH + " characters");
+            }
+            specification = specification.and(PostSpecifications.titleStartsWith(request.getQ()));
+            shape.add("prefix");
+        }
+
+        Sort.Order order = sortOrder(pageable.getSort(), prefix);
+        int size = Math.min(Math.max(pageable.getPageSize(), 1), MAX_PAGE_SIZE);
+        if ((long) pageable.getPageNumber() * size > maxOffset) {
+            throw new BadRequestException("Pages beyond offset " + maxOffset
+                    + " are not served; narrow the date range or use the author feed");
+        }
+        Sort sort = order.getProperty().equals("id")
+                ? Sort.by(order)
+                : Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+
+        String filters = shape.isEmpty() ? "all" : String.join("+", shape);
+        return new Plan(specification, PageRequest.of(pageable.getPageNumber(), size, sort),
+                filters + "/" + order.getProperty() + "," + order.getDirection().name().toLowerCase());
+    }
+
+    public void observe(Plan plan, long nanos) {
+        Timer.builder("blog.posts.search")
+                .description("Post feed searches by query shape")
+                .tag("shape", plan.shape())
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis >= slowQueryMillis) {
+            log.warn("Slow post search: shape {} page {} took {} ms", plan.shape(),
+                    plan.pageable().getPageNumber(), millis);
+        }
+    }
+
+    private Sort.Order sortOrder(Sort sort, boolean prefix) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return Sort.Order.desc("createdAt");
+        }
+        Sort.Order order = orders.get(0);
+        if (orders.size() > 1 && !(orders.size() == 2 && orders.get(1).getProperty().equals("id"))) {
+            throw new BadRequestException("Only one sort column (plus id) is supported");
+        }
+        if (!SORTABLE.contains(order.getProperty())) {
+            throw new BadRequestException("Cannot sort by " + order.getProperty() + "; use one of " + SORTABLE);
+        }
+        if (order.getProperty().equals("title") && !prefix) {
+            throw new BadRequestException("Sorting by title requires a title prefix (q)");
+        }
+        return order;
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
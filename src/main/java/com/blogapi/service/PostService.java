@@ -1,20 +1,40 @@
 package com.blogapi.service;
 
+import com.blogapi.cache.CacheInvalidationBus;
+import com.blogapi.model.dto.FeedCursor;
+import com.blogapi.model.dto.KeysetPage;
+import com.blogapi.model.dto.PageTotals;
 import com.blogapi.model.dto.PostRequest;
 import com.blogapi.model.dto.PostResponse;
+import com.blogapi.model.dto.PostSearchRequest;
+import com.blogapi.exception.BadRequestException;
 import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.entity.ArchivedPost;
 import com.blogapi.model.entity.Category;
 import com.blogapi.model.entity.Post;
+import com.blogapi.model.entity.PostContent;
+import com.blogapi.repository.ArchivedCommentRepository;
+import com.blogapi.repository.ArchivedPostRepository;
 import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.PostContentRepository;
 import com.blogapi.repository.PostRepository;
+import com.blogapi.sharding.ShardKey;
+import com.blogapi.sharding.ShardRouter;
+import com.blogapi.sharding.ShardedPostQueries;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,84 +44,203 @@ import java.util.stream.Collectors;
 public class PostService {
 
     private final PostRepository postRepository;
+    private final PostContentRepository postContentRepository;
     private final CategoryRepository categoryRepository;
-
+    private final TrendingPostTracker trendingPostTracker;
+    private final PostProcessingService postProcessingService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final PostViewCounter postViewCounter;
+    private final AuthorStatsService authorStatsService;
+    private final PostQueryPlanner postQueryPlanner;
+    private final ArchivedPostRepository archivedPostRepository;
+    private final ArchivedCommentRepository archivedCommentRepository;
+    private final ShardedPostQueries shardedPostQueries;
+    private final ShardRouter shardRouter;
+    private final PostCountEstimator postCountEstimator;
+
+    // Each shard is queried in its own transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<PostResponse> getAllPosts(Pageable pageable) {
-        return postRepository.findAll(pageable)
-                .map(this::mapToResponse);
+        return shardedPostQueries.findAllResponses(pageable);
     }
 
-    public PostResponse getPostById(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
-        return mapToResponse(post);
+    public Page<PostResponse> getPostsByCategory(@ShardKey(ShardKey.Source.CATEGORY) Long categoryId,
+                                                 Pageable pageable) {
+        Page<PostResponse> posts = postRepository.findResponsesByCategoryId(categoryId, pageable);
+        // Only an empty page needs to tell a missing category from an empty one
+        if (posts.isEmpty() && !categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category not found with id: " + categoryId);
+        }
+        return posts;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Slice<PostResponse> getAllPosts(Pageable pageable, PageTotals totals) {
+        if (totals == PageTotals.EXACT) {
+            return getAllPosts(pageable);
+        }
+        Slice<PostResponse> posts = shardedPostQueries.findAllResponseSlice(pageable);
+        return totals == PageTotals.NONE ? posts : withTotal(posts, postCountEstimator::countPosts);
+    }
+
+    public Slice<PostResponse> getPostsByCategory(@ShardKey(ShardKey.Source.CATEGORY) Long categoryId,
+                                                  Pageable pageable, PageTotals totals) {
+        if (totals == PageTotals.EXACT) {
+            return getPostsByCategory(categoryId, pageable);
+        }
+        Slice<PostResponse> posts = postRepository.findResponseSliceByCategoryId(categoryId, pageable);
+        if (!posts.hasContent() && !categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category not found with id: " + categoryId);
+        }
+        return totals == PageTotals.NONE
+                ? posts
+                : withTotal(posts, () -> postCountEstimator.countPostsInCategory(categoryId));
+    }
+
+    /**
+     * Turns a slice into a page whose total is the estimate, but never less than the rows the slice
+     * has seen; the last page knows its exact total and skips the estimate.
+     */
+    static Page<PostResponse> withTotal(Slice<PostResponse> slice, LongSupplier estimate) {
+        long seen = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+                : slice.getNumberOfElements();
+        long total = slice.hasNext() ? Math.max(estimate.getAsLong(), seen + 1) : seen;
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    public Slice<PostResponse> searchPosts(PostSearchRequest request, Pageable pageable) {
+        PostQueryPlanner.Plan plan = postQueryPlanner.plan(request, pageable);
+        long start = System.nanoTime();
+        Slice<Post> posts = postRepository.search(plan.specification(), plan.pageable());
+        postQueryPlanner.observe(plan, System.nanoTime() - start);
+
+        Map<Long, Long> viewCounts = postViewCounter.getViewCounts(posts.map(Post::getId).getContent());
+        return posts.map(post -> mapToResponse(post, null, viewCounts.getOrDefault(post.getId(), 0L)));
     }
 
-    public PostResponse createPost(PostRequest postRequest) {
+    public KeysetPage<PostResponse> getPostsByAuthor(String author, String cursor, int size) {
+        int limit = FeedPages.limit(size);
+        PageRequest firstRows = PageRequest.of(0, limit + 1);
+        List<PostResponse> posts;
+        if (cursor == null) {
+            posts = postRepository.findFeedByAuthor(author, firstRows);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            posts = postRepository.findFeedByAuthorAfter(author, after.createdAt(), after.id(), firstRows);
+        }
+        return FeedPages.page(posts, limit, post -> new FeedCursor(post.createdAt(), post.id()));
+    }
+
+    public PostResponse getPostById(@ShardKey(ShardKey.Source.ID) Long id) {
+        Post post = postRepository.findById(id).orElse(null);
+        if (post == null) {
+            return getArchivedPost(id);
+        }
+        String content = postContentRepository.findById(id).map(PostContent::getContent).orElse(null);
+        postViewCounter.record(id);
+        return mapToResponse(post, content, postViewCounter.getViewCount(id));
+    }
+
+    public PostResponse createPost(@ShardKey(ShardKey.Source.CATEGORY) PostRequest postRequest) {
         Category category = categoryRepository.findById(postRequest.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Category not found with id: " + postRequest.getCategoryId()));
 
         Post post = new Post();
         post.setTitle(postRequest.getTitle());
-        post.setContent(postRequest.getContent());
         post.setAuthor(postRequest.getAuthor());
         post.setCategory(category);
         post.setCreatedAt(LocalDateTime.now());
         post.setUpdatedAt(LocalDateTime.now());
 
         Post savedPost = postRepository.save(post);
-        return mapToResponse(savedPost);
+        postContentRepository.save(new PostContent(null, savedPost, postRequest.getContent()));
+        authorStatsService.postAdded(savedPost.getAuthor());
+        postProcessingService.enqueue(savedPost.getId());
+        cacheInvalidationBus.postChanged(savedPost.getId());
+        return mapToResponse(savedPost, postRequest.getContent(), 0L);
     }
 
-    public PostResponse updatePost(Long id, PostRequest postRequest) {
+    public PostResponse updatePost(@ShardKey(ShardKey.Source.ID) Long id, PostRequest postRequest) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
 
         if (!post.getCategory().getId().equals(postRequest.getCategoryId())) {
+            if (!shardRouter.shardForCategory(postRequest.getCategoryId()).equals(shardRouter.shardForId(id))) {
+                throw new BadRequestException("Posts cannot move to a category on another shard");
+            }
             Category category = categoryRepository.findById(postRequest.getCategoryId())
                     .orElseThrow(() -> new ResourceNotFoundException(
                             "Category not found with id: " + postRequest.getCategoryId()));
             post.setCategory(category);
         }
 
+        if (!post.getAuthor().equals(postRequest.getAuthor())) {
+            authorStatsService.postRemoved(post.getAuthor());
+            authorStatsService.postAdded(postRequest.getAuthor());
+        }
+
         post.setTitle(postRequest.getTitle());
-        post.setContent(postRequest.getContent());
         post.setAuthor(postRequest.getAuthor());
         post.setUpdatedAt(LocalDateTime.now());
 
         Post updatedPost = postRepository.save(post);
-        return mapToResponse(updatedPost);
+        PostContent content = postContentRepository.findById(id).orElseGet(() -> new PostContent(null, post, null));
+        content.setContent(postRequest.getContent());
+        postContentRepository.save(content);
+        postProcessingService.enqueue(updatedPost.getId());
+        cacheInvalidationBus.postChanged(id);
+        return mapToResponse(updatedPost, postRequest.getContent(), postViewCounter.getViewCount(id));
     }
 
-    public void deletePost(Long id) {
-        if (!postRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Post not found with id: " + id);
+    public void deletePost(@ShardKey(ShardKey.Source.ID) Long id) {
+        // The repository deletes the comments; the body goes with the post through ON DELETE CASCADE
+        authorStatsService.postDeleted(id);
+        if (postRepository.deletePostById(id) == 0) {
+            // Not a live post; it may have been archived
+            deleteArchivedPost(id);
+            return;
         }
-        postRepository.deleteById(id);
+        trendingPostTracker.remove(id);
+        postProcessingService.discard(id);
+        postViewCounter.remove(id);
+        cacheInvalidationBus.postChanged(id);
     }
 
-    public List<PostResponse> getPostsByCategory(Long categoryId) {
-        if (!categoryRepository.existsById(categoryId)) {
+    public List<PostResponse> getPostsByCategory(@ShardKey(ShardKey.Source.CATEGORY) Long categoryId) {
+        List<PostResponse> rows = postRepository.findResponsesInCategory(categoryId);
+        if (rows.isEmpty()) {
             throw new ResourceNotFoundException("Category not found with id: " + categoryId);
         }
-
-        return postRepository.findByCategoryId(categoryId)
-                .stream()
-                .map(this::mapToResponse)
+        return rows.stream()
+                .filter(post -> post.id() != null)
                 .collect(Collectors.toList());
     }
 
-    private PostResponse mapToResponse(Post post) {
-        return PostResponse.builder()
-                .id(post.getId())
-                .title(post.getTitle())
-                .content(post.getContent())
-                .author(post.getAuthor())
-                .categoryId(post.getCategory().getId())
-                .categoryName(post.getCategory().getName())
-                .createdAt(post.getCreatedAt())
-                .updatedAt(post.getUpdatedAt())
-                .build();
+    private PostResponse getArchivedPost(Long id) {
+        ArchivedPost post = archivedPostRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
+        String categoryName = categoryRepository.findById(post.getCategoryId()).map(Category::getName).orElse(null);
+        postViewCounter.record(id);
+        return new PostResponse(post.getId(), post.getTitle(), post.getContent(), post.getAuthor(),
+                post.getCategoryId(), categoryName, post.getCreatedAt(), post.getUpdatedAt(), post.getExcerpt(),
+                post.getWordCount(), post.getReadingTimeMinutes(), post.getTags(), postViewCounter.getViewCount(id));
+    }
+
+    private void deleteArchivedPost(Long id) {
+        authorStatsService.archivedPostDeleted(id);
+        archivedCommentRepository.deleteByPostId(id);
+        if (archivedPostRepository.deleteArchivedPostById(id) == 0) {
+            throw new ResourceNotFoundException("Post not found with id: " + id);
+        }
+        postViewCounter.remove(id);
+    }
+
+    private PostResponse mapToResponse(Post post, String content, long viewCount) {
+        Category category = post.getCategory();
+        return new PostResponse(post.getId(), post.getTitle(), content, post.getAuthor(),
+                category.getId(), category.getName(), post.getCreatedAt(), post.getUpdatedAt(),
+                post.getExcerpt(), post.getWordCount(), post.getReadingTimeMinutes(), post.getTags(), viewCount);
     }
 }
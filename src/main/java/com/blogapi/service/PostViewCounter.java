@@ -0,0 +1,179 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.MostViewedPostResponse;
+import com.blogapi.model.entity.PostView;
+import com.blogapi.repository.PostViewRepository;
+import com.blogapi.sharding.ShardContext;
+import com.blogapi.sharding.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts post views in memory and adds them to {@code post_views} on a schedule, so a read never
+ * takes a row lock. Recording a view is a map lookup and a {@link LongAdder} increment; views
+ * not yet flushed (at most one flush interval) are lost if the process dies.
+ */
+@Service
+@Slf4j
+public class PostViewCounter {
+
+    private static final String ADD_VIEWS = "UPDATE post_views SET view_count = view_count + ? WHERE post_id = ?";
+    private static final String INSERT_VIEWS = "INSERT INTO post_views (post_id, view_count) "
+            + "SELECT ?, ? WHERE EXISTS (SELECT 1 FROM posts WHERE id = ?) "
+            + "OR EXISTS (SELECT 1 FROM archived_posts WHERE id = ?)";
+
+    private final PostViewRepository postViewRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRouter shardRouter;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public PostViewCounter(PostViewRepository postViewRepository,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           EntityManagerFactory entityManagerFactory,
+                           ShardRouter shardRouter) {
+        this.postViewRepository = postViewRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.shardRouter = shardRouter;
+    }
+
+    public void record(Long postId) {
+        LongAdder adder = pending.get(postId);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(postId, id -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    public long getViewCount(Long postId) {
+        long persisted = postViewRepository.findById(postId).map(PostView::getViewCount).orElse(0L);
+        return persisted + pendingCount(postId);
+    }
+
+    public Map<Long, Long> getViewCounts(Collection<Long> postIds) {
+        Map<Long, Long> counts = new HashMap<>(postIds.size() * 2);
+        for (PostView view : postViewRepository.findAllById(postIds)) {
+            counts.put(view.getPostId(), view.getViewCount());
+        }
+        for (Long postId : postIds) {
+            counts.merge(postId, pendingCount(postId), Long::sum);
+        }
+        return counts;
+    }
+
+    public List<MostViewedPostResponse> getMostViewed(int limit) {
+        return postViewRepository.findByOrderByViewCountDesc(PageRequest.of(0, Math.max(1, limit))).stream()
+                .map(view -> new MostViewedPostResponse(view.getPostId(), view.getViewCount()))
+                .toList();
+    }
+
+    public void remove(Long postId) {
+        pending.remove(postId);
+        postViewRepository.deleteViewByPostId(postId);
+    }
+
+    /**
+     * Drops the counts of posts deleted together, such as the posts of a deleted category, in one
+     * statement.
+     */
+    public void removeAll(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        postIds.forEach(pending::remove);
+        postViewRepository.deleteByPostIds(postIds);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval:5000}")
+    public void flush() {
+        Map<Long, Long> deltas = drain();
+        // Every shard counts the views of its own posts
+        for (Map.Entry<String, List<Long>> shard : shardRouter.groupByShard(deltas.keySet()).entrySet()) {
+            Map<Long, Long> shardDeltas = new HashMap<>(shard.getValue().size() * 2);
+            for (Long postId : shard.getValue()) {
+                shardDeltas.put(postId, deltas.get(postId));
+            }
+            flush(shard.getKey(), shardDeltas);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(String shard, Map<Long, Long> deltas) {
+        try {
+            ShardContext.run(shard, () -> transactionTemplate.executeWithoutResult(status -> write(deltas)));
+        } catch (RuntimeException ex) {
+            log.warn("Could not flush views for {} posts, retrying on next flush", deltas.size(), ex);
+            deltas.forEach(this::add);
+            return;
+        }
+        // The rows were changed behind Hibernate's back, so drop any cached copies
+        for (Long postId : deltas.keySet()) {
+            entityManagerFactory.getCache().evict(PostView.class, postId);
+        }
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0 && pending.remove(entry.getKey(), entry.getValue())) {
+                // Idle counters are dropped to keep the map small; pick up views that raced the removal
+                delta = entry.getValue().sumThenReset();
+            }
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        return deltas;
+    }
+
+    private void write(Map<Long, Long> deltas) {
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((postId, delta) -> updates.add(new Object[] {delta, postId}));
+        int[] updated = jdbcTemplate.batchUpdate(ADD_VIEWS, updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] update = updates.get(i);
+                inserts.add(new Object[] {update[1], update[0], update[1], update[1]});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_VIEWS, inserts);
+        }
+    }
+
+    private void add(Long postId, long views) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).add(views);
+    }
+
+    private long pendingCount(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder == null ? 0 : adder.sum();
+    }
+}
@@ -0,0 +1,233 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.TrendingPostResponse;
+import com.blogapi.model.projection.CommentActivity;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Sliding-window comment counts per post, split into time buckets. The current top-K is
+ * kept as an immutable snapshot that is patched on every comment and rebuilt with a
+ * bounded heap only when a bucket expires, so reads are O(K) and never touch the database.
+ */
+@Service
+@Slf4j
+public class TrendingPostTracker {
+
+    private static final Comparator<TrendingPostResponse> BY_COUNT_DESC =
+            Comparator.comparingLong(TrendingPostResponse::commentCount).reversed()
+                    .thenComparing(TrendingPostResponse::postId, Comparator.reverseOrder());
+
+    private final CommentRepository commentRepository;
+    private final ShardRouter shardRouter;
+    private final Clock clock;
+    private final Duration window;
+    private final long bucketMillis;
+    private final int size;
+
+    private final Map<Long, Long>[] buckets;
+    private final Map<Long, Long> windowCounts = new HashMap<>();
+    private volatile long currentBucket;
+    private volatile List<TrendingPostResponse> top = List.of();
+
+    @Autowired
+    public TrendingPostTracker(CommentRepository commentRepository,
+                               ShardRouter shardRouter,
+                               @Value("${blog.trending.window:PT24H}") Duration window,
+                               @Value("${blog.trending.buckets:24}") int bucketCount,
+                               @Value("${blog.trending.size:10}") int size) {
+        this(commentRepository, shardRouter, window, bucketCount, size, Clock.systemDefaultZone());
+    }
+
+    @SuppressWarnings("unchecked")
+    TrendingPostTracker(CommentRepository commentRepository, ShardRouter shardRouter, Duration window,
+                        int bucketCount, int size, Clock clock) {
+        this.commentRepository = commentRepository;
+        this.shardRouter = shardRouter;
+        this.clock = clock;
+        this.window = window;
+        this.bucketMillis = Math.max(1, window.toMillis() / bucketCount);
+        this.size = size;
+        this.buckets = new Map[bucketCount];
+
+        this.currentBucket = bucketOf(clock.millis());
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new HashMap<>();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime since = LocalDateTime.now(clock).minus(window);
+        List<CommentActivity> activity = shardRouter.onAllShards(() -> commentRepository.findActivitySince(since))
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+        synchronized (this) {
+            for (CommentActivity comment : activity) {
+                increment(comment.getPostId(), comment.getCreatedAt());
+            }
+            rebuildTop();
+        }
+        log.info("Trending posts rebuilt from {} comments since {}", activity.size(), since);
+    }
+
+    public synchronized void record(Long postId, LocalDateTime createdAt) {
+        long count = increment(postId, createdAt);
+        if (count > 0) {
+            updateTop(postId, count);
+        }
+    }
+
+    public synchronized void remove(Long postId) {
+        if (windowCounts.remove(postId) == null) {
+            return;
+        }
+        for (Map<Long, Long> bucket : buckets) {
+            bucket.remove(postId);
+        }
+        if (top.stream().anyMatch(entry -> entry.postId().equals(postId))) {
+            rebuildTop();
+        }
+    }
+
+    /**
+     * Whether any comment on the post is counted in the current window.
+     */
+    public synchronized boolean isTracked(Long postId) {
+        advance();
+        return windowCounts.containsKey(postId);
+    }
+
+    /**
+     * Takes back one comment counted by {@link #record}, for a comment that was deleted.
+     */
+    public void removeComment(Long postId, LocalDateTime createdAt) {
+        removeComments(postId, List.of(createdAt));
+    }
+
+    /**
+     * Takes back comments counted by {@link #record}, for a deleted comment and its replies.
+     */
+    public synchronized void removeComments(Long postId, Collection<LocalDateTime> createdAt) {
+        advance();
+        boolean removed = false;
+        for (LocalDateTime time : createdAt) {
+            long bucket = Math.min(bucketOf(time.atZone(clock.getZone()).toInstant().toEpochMilli()), currentBucket);
+            if (bucket <= currentBucket - buckets.length) {
+                continue;
+            }
+            Map<Long, Long> counts = buckets[slot(bucket)];
+            Long count = counts.get(postId);
+            if (count == null) {
+                continue;
+            }
+            if (count > 1) {
+                counts.put(postId, count - 1);
+            } else {
+                counts.remove(postId);
+            }
+            windowCounts.computeIfPresent(postId, (id, total) -> total > 1 ? total - 1 : null);
+            removed = true;
+        }
+        if (removed && top.stream().anyMatch(entry -> entry.postId().equals(postId))) {
+            rebuildTop();
+        }
+    }
+
+    public List<TrendingPostResponse> getTrending(int limit) {
+        if (bucketOf(clock.millis()) != currentBucket) {
+            synchronized (this) {
+                advance();
+            }
+        }
+        List<TrendingPostResponse> snapshot = top;
+        return snapshot.subList(0, Math.min(Math.max(limit, 0), snapshot.size()));
+    }
+
+    private long increment(Long postId, LocalDateTime createdAt) {
+        advance();
+        long bucket = Math.min(bucketOf(createdAt.atZone(clock.getZone()).toInstant().toEpochMilli()), currentBucket);
+        if (bucket <= currentBucket - buckets.length) {
+            return 0;
+        }
+        buckets[slot(bucket)].merge(postId, 1L, Long::sum);
+        return windowCounts.merge(postId, 1L, Long::sum);
+    }
+
+    private void advance() {
+        long now = bucketOf(clock.millis());
+        if (now <= currentBucket) {
+            return;
+        }
+        long first = Math.max(currentBucket + 1, now - buckets.length + 1);
+        for (long bucket = first; bucket <= now; bucket++) {
+            int slot = slot(bucket);
+            buckets[slot].forEach((postId, count) ->
+                    windowCounts.computeIfPresent(postId, (id, total) -> total > count ? total - count : null));
+            buckets[slot].clear();
+        }
+        currentBucket = now;
+        rebuildTop();
+    }
+
+    private void updateTop(Long postId, long count) {
+        List<TrendingPostResponse> next = new ArrayList<>(top.size() + 1);
+        for (TrendingPostResponse entry : top) {
+            if (!entry.postId().equals(postId)) {
+                next.add(entry);
+            }
+        }
+        if (next.size() == size && BY_COUNT_DESC.compare(entry(postId, count), next.get(size - 1)) > 0) {
+            return;
+        }
+        next.add(entry(postId, count));
+        next.sort(BY_COUNT_DESC);
+        if (next.size() > size) {
+            next.remove(next.size() - 1);
+        }
+        top = List.copyOf(next);
+    }
+
+    private void rebuildTop() {
+        PriorityQueue<TrendingPostResponse> heap = new PriorityQueue<>(size + 1, BY_COUNT_DESC.reversed());
+        windowCounts.forEach((postId, count) -> {
+            heap.offer(entry(postId, count));
+            if (heap.size() > size) {
+                heap.poll();
+            }
+        });
+        List<TrendingPostResponse> next = new ArrayList<>(heap);
+        next.sort(BY_COUNT_DESC);
+        top = List.copyOf(next);
+    }
+
+    private TrendingPostResponse entry(Long postId, long count) {
+        return new TrendingPostResponse(postId, count);
+    }
+
+    private long bucketOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis);
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+}
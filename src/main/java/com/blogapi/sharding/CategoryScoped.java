@@ -0,0 +1,9 @@
+package com.blogapi.sharding;
+
+/**
+ * A request that belongs to one category, and therefore to that category's shard.
+ */
+public interface CategoryScoped {
+
+    Long getCategoryId();
+}
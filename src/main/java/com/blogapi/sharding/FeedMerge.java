@@ -0,0 +1,59 @@
+package com.blogapi.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of lists that are each sorted in the same order: a heap holds the head of every
+ * list, so a page of {@code limit} rows after {@code skip} costs O((skip + limit) log k).
+ */
+public final class FeedMerge {
+
+    private FeedMerge() {
+    }
+
+    public static <T> List<T> merge(List<? extends List<T>> sorted, Comparator<? super T> order,
+                                    long skip, int limit) {
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                (left, right) -> order.compare(left.head(), right.head()));
+        for (List<T> rows : sorted) {
+            if (!rows.isEmpty()) {
+                heads.add(new Cursor<>(rows));
+            }
+        }
+        List<T> page = new ArrayList<>(limit);
+        long skipped = 0;
+        while (!heads.isEmpty() && page.size() < limit) {
+            Cursor<T> cursor = heads.poll();
+            T row = cursor.head();
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                page.add(row);
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return page;
+    }
+
+    private static final class Cursor<T> {
+        private final List<T> rows;
+        private int position;
+
+        Cursor(List<T> rows) {
+            this.rows = rows;
+        }
+
+        T head() {
+            return rows.get(position);
+        }
+
+        boolean advance() {
+            return ++position < rows.size();
+        }
+    }
+}
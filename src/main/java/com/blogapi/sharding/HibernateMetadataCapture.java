@@ -0,0 +1,39 @@
+package com.blogapi.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Keeps the mapping metadata Hibernate built at startup, so the shard schemas can be created
+ * from the same entities without a second bootstrap.
+ */
+public class HibernateMetadataCapture implements Integrator {
+
+    private volatile Metadata metadata;
+    private volatile ServiceRegistry serviceRegistry;
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.serviceRegistry = bootstrapContext.getServiceRegistry();
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = null;
+        this.serviceRegistry = null;
+    }
+
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
+    public ServiceRegistry getServiceRegistry() {
+        return serviceRegistry;
+    }
+}
@@ -0,0 +1,84 @@
+package com.blogapi.sharding;
+
+import com.blogapi.cache.CacheInvalidation;
+import com.blogapi.cache.CacheInvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Copies categories from the default shard, where they are created and edited, to the shard
+ * their posts live on, so posts there keep their foreign key and joins. A category is copied on
+ * the first call routed to it and again after it changes. Copies go through the shard pools
+ * directly, outside any transaction of the calling thread.
+ */
+@Slf4j
+public class ShardCategoryReplicator {
+
+    private static final String SELECT = "SELECT name, description FROM categories WHERE id = ?";
+    private static final String UPDATE = "UPDATE categories SET name = ?, description = ? WHERE id = ?";
+    private static final String INSERT = "INSERT INTO categories (id, name, description) VALUES (?, ?, ?)";
+
+    private final ShardRoutingDataSource dataSource;
+    private final ShardRouter shardRouter;
+    private final Set<Long> copied = ConcurrentHashMap.newKeySet();
+
+    public ShardCategoryReplicator(ShardRoutingDataSource dataSource, ShardRouter shardRouter,
+                                   CacheInvalidationBus cacheInvalidationBus) {
+        this.dataSource = dataSource;
+        this.shardRouter = shardRouter;
+        cacheInvalidationBus.addListener(this::changed);
+    }
+
+    public void ensure(Long categoryId) {
+        if (categoryId != null && !copied.contains(categoryId) && copy(categoryId)) {
+            copied.add(categoryId);
+        }
+    }
+
+    /**
+     * Copies the category to its shard; returns {@code false} when the default shard does not
+     * have it, leaving the routed call to report it missing.
+     */
+    boolean copy(Long categoryId) {
+        List<Map<String, Object>> rows = inTransaction(dataSource.shard(ShardRouter.DEFAULT_SHARD),
+                jdbcTemplate -> jdbcTemplate.queryForList(SELECT, categoryId));
+        if (rows.isEmpty()) {
+            return false;
+        }
+        Object name = rows.get(0).get("name");
+        Object description = rows.get(0).get("description");
+        inTransaction(dataSource.shard(shardRouter.shardForCategory(categoryId)), jdbcTemplate -> {
+            if (jdbcTemplate.update(UPDATE, name, description, categoryId) == 0) {
+                jdbcTemplate.update(INSERT, categoryId, name, description);
+            }
+            return null;
+        });
+        return true;
+    }
+
+    private void changed(CacheInvalidation invalidation) {
+        if (invalidation.type() != CacheInvalidation.Type.CATEGORY || !shardRouter.isShardedCategory(invalidation.id())) {
+            return;
+        }
+        copied.remove(invalidation.id());
+        try {
+            ensure(invalidation.id());
+        } catch (RuntimeException ex) {
+            log.warn("Could not copy category {} to its shard, retrying on its next call", invalidation.id(), ex);
+        }
+    }
+
+    private static <T> T inTransaction(DataSource shard, Function<JdbcTemplate, T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(shard));
+        return transactionTemplate.execute(status -> work.apply(new JdbcTemplate(shard)));
+    }
+}
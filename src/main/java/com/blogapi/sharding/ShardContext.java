@@ -0,0 +1,51 @@
+package com.blogapi.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread reads and writes. Unset means the default shard. A transaction
+ * binds its connection when it begins, so the shard has to be chosen before that.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(String shard, Supplier<T> work) {
+        String previous = set(shard);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void run(String shard, Runnable work) {
+        String previous = set(shard);
+        try {
+            work.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static String set(String shard) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
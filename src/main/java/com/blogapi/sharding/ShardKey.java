@@ -0,0 +1,20 @@
+package com.blogapi.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter that decides which shard a service or controller call runs on: a category
+ * id (or a {@link CategoryScoped} request), or the id of a post or comment, whose range names its
+ * shard.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+
+    enum Source { CATEGORY, ID }
+
+    Source value();
+}
@@ -0,0 +1,128 @@
+package com.blogapi.sharding;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Maps categories and row ids to shards. A category lives on the shard it is assigned to in
+ * {@code blog.sharding.categories}, with its posts and their comments. Each shard hands out post
+ * and comment ids from its own range of {@link #ID_RANGE} values, so an id alone names its shard
+ * and lookups by id need no directory. The ranges are decimal so every id of up to
+ * {@link #MAX_SHARDS} shards still fits a comment path segment.
+ */
+@Component
+public class ShardRouter {
+
+    public static final String DEFAULT_SHARD = "default";
+    public static final long ID_RANGE = 10_000_000_000L;
+    public static final int MAX_SHARDS = 100;
+
+    private final List<String> shards;
+    private final Map<Long, String> categories;
+    private final Executor executor;
+
+    public ShardRouter(ShardingProperties properties, @Qualifier("shardScatterExecutor") Executor executor) {
+        List<String> names = new ArrayList<>();
+        names.add(DEFAULT_SHARD);
+        if (properties.isEnabled()) {
+            for (ShardingProperties.Shard shard : properties.getShards()) {
+                if (names.contains(shard.getName())) {
+                    throw new IllegalStateException("Duplicate shard name: " + shard.getName());
+                }
+                names.add(shard.getName());
+            }
+            for (Map.Entry<Long, String> category : properties.getCategories().entrySet()) {
+                if (!names.contains(category.getValue())) {
+                    throw new IllegalStateException("Category " + category.getKey()
+                            + " is assigned to unknown shard " + category.getValue());
+                }
+            }
+        }
+        if (names.size() > MAX_SHARDS) {
+            throw new IllegalStateException("At most " + MAX_SHARDS + " shards are supported");
+        }
+        this.shards = List.copyOf(names);
+        this.categories = properties.isEnabled() ? Map.copyOf(properties.getCategories()) : Map.of();
+        this.executor = executor;
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    public boolean isSharded() {
+        return shards.size() > 1;
+    }
+
+    public String shardForCategory(Long categoryId) {
+        return categoryId == null ? DEFAULT_SHARD : categories.getOrDefault(categoryId, DEFAULT_SHARD);
+    }
+
+    public boolean isShardedCategory(Long categoryId) {
+        return !DEFAULT_SHARD.equals(shardForCategory(categoryId));
+    }
+
+    /**
+     * Returns the shard whose id range contains the id; ids outside every range belong to the
+     * default shard, where they are simply not found.
+     */
+    public String shardForId(Long id) {
+        if (id == null || id < 0) {
+            return DEFAULT_SHARD;
+        }
+        long index = id / ID_RANGE;
+        return index < shards.size() ? shards.get((int) index) : DEFAULT_SHARD;
+    }
+
+    public long idBase(String shard) {
+        return shards.indexOf(shard) * ID_RANGE;
+    }
+
+    public <T> T onShardForCategory(Long categoryId, Supplier<T> query) {
+        return ShardContext.call(shardForCategory(categoryId), query);
+    }
+
+    /**
+     * Runs the query on every shard in parallel and returns the results in shard order. Must not
+     * be called inside a transaction, which would pin the caller to one shard anyway.
+     */
+    public <T> List<T> onAllShards(Supplier<T> query) {
+        if (!isSharded()) {
+            return List.of(query.get());
+        }
+        List<CompletableFuture<T>> results = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            results.add(CompletableFuture.supplyAsync(() -> ShardContext.call(shard, query), executor));
+        }
+        List<T> values = new ArrayList<>(shards.size());
+        try {
+            for (CompletableFuture<T> result : results) {
+                values.add(result.join());
+            }
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return values;
+    }
+
+    public Map<String, List<Long>> groupByShard(Collection<Long> ids) {
+        Map<String, List<Long>> groups = new LinkedHashMap<>();
+        for (Long id : ids) {
+            groups.computeIfAbsent(shardForId(id), shard -> new ArrayList<>()).add(id);
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,90 @@
+package com.blogapi.sharding;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses the shard for controller and service calls from their {@link ShardKey} parameter. The
+ * outermost routed call wins, so everything it calls stays on one shard. Runs before the
+ * transaction interceptor, because a transaction binds its connection when it begins.
+ */
+@Aspect
+public class ShardRoutingAspect implements Ordered {
+
+    private record KeyParameter(int index, ShardKey.Source source) {
+        static final KeyParameter NONE = new KeyParameter(-1, null);
+    }
+
+    private final ShardRouter shardRouter;
+    private final ObjectProvider<ShardCategoryReplicator> categoryReplicator;
+    private final ConcurrentHashMap<Method, KeyParameter> keys = new ConcurrentHashMap<>();
+
+    public ShardRoutingAspect(ShardRouter shardRouter, ObjectProvider<ShardCategoryReplicator> categoryReplicator) {
+        this.shardRouter = shardRouter;
+        this.categoryReplicator = categoryReplicator;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Around("(@within(org.springframework.stereotype.Service) "
+            + "|| @within(org.springframework.web.bind.annotation.RestController)) "
+            + "&& execution(public * com.blogapi..*(..))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        KeyParameter key = keys.computeIfAbsent(method, ShardRoutingAspect::keyParameter);
+        if (key == KeyParameter.NONE) {
+            return joinPoint.proceed();
+        }
+
+        String shard = shard(key, joinPoint.getArgs()[key.index()]);
+        if (!ShardRouter.DEFAULT_SHARD.equals(shard) && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(joinPoint.getSignature().toShortString()
+                    + " routes to shard " + shard + " inside a transaction already bound to the default shard");
+        }
+        String previous = ShardContext.set(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private String shard(KeyParameter key, Object value) {
+        if (key.source() == ShardKey.Source.ID) {
+            return shardRouter.shardForId((Long) value);
+        }
+        Long categoryId = value instanceof CategoryScoped scoped ? scoped.getCategoryId() : (Long) value;
+        String shard = shardRouter.shardForCategory(categoryId);
+        if (!ShardRouter.DEFAULT_SHARD.equals(shard)) {
+            categoryReplicator.getObject().ensure(categoryId);
+        }
+        return shard;
+    }
+
+    private static KeyParameter keyParameter(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof ShardKey shardKey) {
+                    return new KeyParameter(i, shardKey.value());
+                }
+            }
+        }
+        return KeyParameter.NONE;
+    }
+}
@@ -0,0 +1,64 @@
+package com.blogapi.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections of the shard in {@link ShardContext}, or of the default shard when none
+ * is set. Owns the shard pools and closes them with the context.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<String, DataSource> shards;
+
+    public ShardRoutingDataSource(DataSource defaultShard, Map<String, DataSource> shards) {
+        Map<String, DataSource> all = new HashMap<>(shards);
+        all.put(ShardRouter.DEFAULT_SHARD, defaultShard);
+        this.shards = Map.copyOf(all);
+        setTargetDataSources(new HashMap<>(all));
+        setDefaultTargetDataSource(defaultShard);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Finds the routing data source behind a wrapped one, such as the tracing proxy.
+     */
+    public static ShardRoutingDataSource of(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(ShardRoutingDataSource.class);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Sharding is enabled but the data source does not route", ex);
+        }
+    }
+
+    /**
+     * Returns a shard's own pool. Its connections are not bound to the current transaction.
+     */
+    public DataSource shard(String name) {
+        DataSource dataSource = shards.get(name);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + name);
+        }
+        return dataSource;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = ShardContext.current();
+        return shard == null ? ShardRouter.DEFAULT_SHARD : shard;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : shards.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.blogapi.sharding;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.schema.spi.DelayedDropRegistryNotAvailableImpl;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prepares the non-default shards at startup: brings their schema up to date from the entity
+ * mappings (unless {@code ddl-auto} is {@code none} or {@code validate}), moves their post and
+ * comment identity columns into the shard's id range and copies the categories assigned to them.
+ */
+@Slf4j
+public class ShardSchemaInitializer {
+
+    private static final List<String> RANGED_TABLES = List.of("posts", "comments");
+
+    private final ShardRouter shardRouter;
+    private final ShardRoutingDataSource dataSource;
+    private final HibernateMetadataCapture metadataCapture;
+    private final ShardCategoryReplicator categoryReplicator;
+    private final ShardingProperties properties;
+    private final String ddlAuto;
+
+    public ShardSchemaInitializer(ShardRouter shardRouter,
+                                  ShardRoutingDataSource dataSource,
+                                  HibernateMetadataCapture metadataCapture,
+                                  ShardCategoryReplicator categoryReplicator,
+                                  ShardingProperties properties,
+                                  String ddlAuto) {
+        this.shardRouter = shardRouter;
+        this.dataSource = dataSource;
+        this.metadataCapture = metadataCapture;
+        this.categoryReplicator = categoryReplicator;
+        this.properties = properties;
+        this.ddlAuto = ddlAuto;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        for (String shard : shardRouter.shards()) {
+            if (ShardRouter.DEFAULT_SHARD.equals(shard)) {
+                continue;
+            }
+            if (!"none".equals(ddlAuto) && !"validate".equals(ddlAuto)) {
+                // Hibernate's connection access goes through the routing data source
+                ShardContext.run(shard, () -> SchemaManagementToolCoordinator.process(metadataCapture.getMetadata(),
+                        metadataCapture.getServiceRegistry(), Map.of(AvailableSettings.HBM2DDL_AUTO, "update"),
+                        DelayedDropRegistryNotAvailableImpl.INSTANCE));
+            }
+            moveIdentities(shard);
+            log.info("Shard {} ready, ids from {}", shard, shardRouter.idBase(shard));
+        }
+        properties.getCategories().keySet().forEach(categoryReplicator::ensure);
+    }
+
+    private void moveIdentities(String shard) {
+        DataSource shardDataSource = dataSource.shard(shard);
+        long base = shardRouter.idBase(shard);
+        new TransactionTemplate(new DataSourceTransactionManager(shardDataSource)).executeWithoutResult(status -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSource);
+            for (String table : RANGED_TABLES) {
+                Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+                if (maxId == null || maxId < base) {
+                    jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + base);
+                }
+            }
+        });
+    }
+}
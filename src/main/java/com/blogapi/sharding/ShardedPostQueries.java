@@ -0,0 +1,135 @@
+package com.blogapi.sharding;
+
+import com.blogapi.exception.BadRequestException;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.repository.PostRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Post feed queries that span shards. The global feed is a scatter-gather: every shard returns
+ * its first {@code offset + size} rows in the requested order, and the page is cut from their
+ * k-way merge. Only orders the merge can reproduce, by {@code createdAt} and {@code id}, are
+ * accepted while sharded. Without shards the queries go straight to the repository.
+ */
+@Component
+public class ShardedPostQueries {
+
+    private static final Sort DEFAULT_ORDER = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private final PostRepository postRepository;
+    private final ShardRouter shardRouter;
+    private final int maxFeedOffset;
+
+    public ShardedPostQueries(PostRepository postRepository, ShardRouter shardRouter, ShardingProperties properties) {
+        this.postRepository = postRepository;
+        this.shardRouter = shardRouter;
+        this.maxFeedOffset = properties.getMaxFeedOffset();
+    }
+
+    public Page<PostResponse> findAllResponses(Pageable pageable) {
+        if (!shardRouter.isSharded()) {
+            return postRepository.findAllResponses(pageable);
+        }
+        if (pageable.getOffset() > maxFeedOffset) {
+            throw new BadRequestException("Page offset must not exceed " + maxFeedOffset);
+        }
+        Sort sort = mergeableSort(pageable.getSort());
+        Pageable window = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), sort);
+        List<Page<PostResponse>> pages = shardRouter.onAllShards(() -> postRepository.findAllResponses(window));
+
+        long total = 0;
+        List<List<PostResponse>> rows = new ArrayList<>(pages.size());
+        for (Page<PostResponse> page : pages) {
+            total += page.getTotalElements();
+            rows.add(page.getContent());
+        }
+        List<PostResponse> content = FeedMerge.merge(rows, comparator(sort), pageable.getOffset(),
+                pageable.getPageSize());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * The global feed without a total: each shard returns one row past the window, so the merge
+     * knows whether a next page exists without counting.
+     */
+    public Slice<PostResponse> findAllResponseSlice(Pageable pageable) {
+        if (!shardRouter.isSharded()) {
+            return postRepository.findAllResponseSlice(pageable);
+        }
+        if (pageable.getOffset() > maxFeedOffset) {
+            throw new BadRequestException("Page offset must not exceed " + maxFeedOffset);
+        }
+        Sort sort = mergeableSort(pageable.getSort());
+        Pageable window = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize() + 1, sort);
+        List<Slice<PostResponse>> slices = shardRouter.onAllShards(() -> postRepository.findAllResponseSlice(window));
+
+        List<List<PostResponse>> rows = new ArrayList<>(slices.size());
+        for (Slice<PostResponse> slice : slices) {
+            rows.add(slice.getContent());
+        }
+        List<PostResponse> content = FeedMerge.merge(rows, comparator(sort), pageable.getOffset(),
+                pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    public Page<PostResponse> findResponsesByCategoryId(Long categoryId, Pageable pageable) {
+        return shardRouter.onShardForCategory(categoryId,
+                () -> postRepository.findResponsesByCategoryId(categoryId, pageable));
+    }
+
+    public List<Long> findCategoryIdsByIdIn(Collection<Long> postIds) {
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        for (Map.Entry<String, List<Long>> shard : shardRouter.groupByShard(postIds).entrySet()) {
+            categoryIds.addAll(ShardContext.call(shard.getKey(),
+                    () -> postRepository.findCategoryIdsByIdIn(shard.getValue())));
+        }
+        return List.copyOf(categoryIds);
+    }
+
+    /**
+     * Adds an id tie-break, so every shard and the merge agree on the order of equal timestamps.
+     */
+    static Sort mergeableSort(Sort requested) {
+        Sort sort = requested.isSorted() ? requested : DEFAULT_ORDER;
+        for (Sort.Order order : sort) {
+            if (!order.getProperty().equals("createdAt") && !order.getProperty().equals("id")) {
+                throw new BadRequestException("Posts can only be sorted by createdAt and id");
+            }
+        }
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by(sort.iterator().next().getDirection(), "id"));
+        }
+        return sort;
+    }
+
+    static Comparator<PostResponse> comparator(Sort sort) {
+        Comparator<PostResponse> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<PostResponse> next = order.getProperty().equals("id")
+                    ? Comparator.comparing(PostResponse::id)
+                    : Comparator.comparing(PostResponse::createdAt, Comparator.nullsFirst(LocalDateTime::compareTo));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+}
@@ -0,0 +1,34 @@
+package com.blogapi.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("blog.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    /** Extra databases; the configured spring.datasource stays the default shard. */
+    private List<Shard> shards = new ArrayList<>();
+
+    /** Category id to shard name; unlisted categories live on the default shard. */
+    private Map<Long, String> categories = new HashMap<>();
+
+    /** Deepest offset the merged global feed serves. */
+    private int maxFeedOffset = 10000;
+
+    @Data
+    public static class Shard {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
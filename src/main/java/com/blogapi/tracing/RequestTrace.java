@@ -0,0 +1,88 @@
+package com.blogapi.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spans collected while one request is handled. Only touched by the request thread; spans beyond
+ * the limit are counted but not kept, so a request with runaway lazy loads stays bounded.
+ */
+public class RequestTrace {
+
+    public enum Kind {
+        CONTROLLER, SERVICE, SQL, SERIALIZATION
+    }
+
+    public record Span(Kind kind, String name, long startNanos, long durationNanos) {
+    }
+
+    private final String method;
+    private final String path;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final int maxSpans;
+    private final List<Span> spans = new ArrayList<>();
+    private int droppedSpans;
+    private int sqlStatements;
+    private long sqlNanos;
+    private long handlerReturnedNanos;
+
+    RequestTrace(String method, String path, int maxSpans) {
+        this.method = method;
+        this.path = path;
+        this.maxSpans = maxSpans;
+    }
+
+    public void add(Kind kind, String name, long start, long end) {
+        if (kind == Kind.SQL) {
+            sqlStatements++;
+            sqlNanos += end - start;
+        }
+        if (spans.size() < maxSpans) {
+            spans.add(new Span(kind, name, start - startNanos, end - start));
+        } else {
+            droppedSpans++;
+        }
+    }
+
+    void handlerReturned(long nanos) {
+        handlerReturnedNanos = nanos;
+    }
+
+    long handlerReturnedNanos() {
+        return handlerReturnedNanos;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public Instant startedAt() {
+        return startedAt;
+    }
+
+    public List<Span> spans() {
+        return spans;
+    }
+
+    public int droppedSpans() {
+        return droppedSpans;
+    }
+
+    public int sqlStatements() {
+        return sqlStatements;
+    }
+
+    public long sqlNanos() {
+        return sqlNanos;
+    }
+}
@@ -0,0 +1,27 @@
+package com.blogapi.tracing;
+
+/**
+ * Holds the trace of the request running on the current thread. Work outside a traced request
+ * (schedulers, background pools) sees {@code null} and is not recorded.
+ */
+public final class RequestTracer {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private RequestTracer() {
+    }
+
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    static RequestTrace begin(String method, String path, int maxSpans) {
+        RequestTrace trace = new RequestTrace(method, path, maxSpans);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,34 @@
+package com.blogapi.tracing;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+public record SlowRequest(
+        Instant startedAt,
+        String method,
+        String path,
+        int status,
+        double durationMillis,
+        int sqlStatements,
+        double sqlMillis,
+        int droppedSpans,
+        List<SpanView> spans) {
+
+    public record SpanView(String kind, String name, double startMillis, double durationMillis) {
+    }
+
+    static SlowRequest of(RequestTrace trace, int status, long durationNanos) {
+        List<SpanView> spans = trace.spans().stream()
+                .sorted(Comparator.comparingLong(RequestTrace.Span::startNanos))
+                .map(span -> new SpanView(span.kind().name(), span.name(), millis(span.startNanos()),
+                        millis(span.durationNanos())))
+                .toList();
+        return new SlowRequest(trace.startedAt(), trace.method(), trace.path(), status, millis(durationNanos),
+                trace.sqlStatements(), millis(trace.sqlNanos()), trace.droppedSpans(), spans);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
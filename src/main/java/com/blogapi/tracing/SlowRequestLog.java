@@ -0,0 +1,48 @@
+package com.blogapi.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent slow requests in a fixed-size ring; older entries are overwritten.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final AtomicReferenceArray<SlowRequest> entries;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowRequestLog(@Value("${blog.tracing.buffer-size:100}") int capacity) {
+        this.entries = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    public void add(SlowRequest request) {
+        entries.set((int) (next.getAndIncrement() % entries.length()), request);
+    }
+
+    /**
+     * Returns the retained slow requests, newest first.
+     */
+    public List<SlowRequest> recent() {
+        long last = next.get();
+        List<SlowRequest> recent = new ArrayList<>(entries.length());
+        for (long i = last - 1; i >= 0 && i >= last - entries.length(); i--) {
+            SlowRequest request = entries.get((int) (i % entries.length()));
+            if (request != null) {
+                recent.add(request);
+            }
+        }
+        return recent;
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+}
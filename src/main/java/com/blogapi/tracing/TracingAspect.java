@@ -0,0 +1,43 @@
+package com.blogapi.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Records controller and service method spans on the current request's trace. Calls made
+ * outside a traced request go straight through.
+ */
+@Aspect
+public class TracingAspect {
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTrace trace = RequestTracer.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long end = System.nanoTime();
+            trace.add(RequestTrace.Kind.CONTROLLER, joinPoint.getSignature().toShortString(), start, end);
+            trace.handlerReturned(end);
+        }
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * com.blogapi..*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTrace trace = RequestTracer.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            trace.add(RequestTrace.Kind.SERVICE, joinPoint.getSignature().toShortString(), start, System.nanoTime());
+        }
+    }
+}
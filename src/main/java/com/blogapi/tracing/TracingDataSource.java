@@ -0,0 +1,79 @@
+package com.blogapi.tracing;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Wraps a {@link DataSource} so that statements run during a traced request are recorded as SQL
+ * spans. Connections handed out outside a traced request are returned unwrapped.
+ */
+public final class TracingDataSource {
+
+    private static final int MAX_SQL_LENGTH = 500;
+
+    private TracingDataSource() {
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        // Keeps close() visible so the pool is still shut down with the context
+        Class<?>[] types = dataSource instanceof AutoCloseable
+                ? new Class<?>[] {DataSource.class, AutoCloseable.class}
+                : new Class<?>[] {DataSource.class};
+        return (DataSource) proxy(types, dataSource, (self, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            if (result instanceof Connection connection && RequestTracer.current() != null) {
+                return proxy(new Class<?>[] {Connection.class}, connection, connectionHandler(connection));
+            }
+            return result;
+        });
+    }
+
+    private static InvocationHandler connectionHandler(Connection connection) {
+        return (self, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                return proxy(new Class<?>[] {method.getReturnType()}, statement, statementHandler(statement, sql));
+            }
+            return result;
+        };
+    }
+
+    private static InvocationHandler statementHandler(Statement statement, String preparedSql) {
+        return (self, method, args) -> {
+            RequestTrace trace = RequestTracer.current();
+            if (trace == null || !method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                String sql = preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 && args[0] instanceof String text ? text : method.getName();
+                if (method.getName().equals("executeBatch")) {
+                    sql = "batch: " + sql;
+                }
+                trace.add(RequestTrace.Kind.SQL, sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql,
+                        start, System.nanoTime());
+            }
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static Object proxy(Class<?>[] types, Object target, InvocationHandler handler) {
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(), types, handler);
+    }
+}
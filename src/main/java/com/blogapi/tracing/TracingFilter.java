@@ -0,0 +1,52 @@
+package com.blogapi.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a trace for every request and keeps it in the {@link SlowRequestLog} when the request
+ * took longer than the threshold. Time between the controller returning and the response being
+ * complete is recorded as serialization.
+ */
+@Slf4j
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final SlowRequestLog slowRequestLog;
+    private final long thresholdNanos;
+    private final int maxSpans;
+
+    public TracingFilter(SlowRequestLog slowRequestLog, long thresholdMillis, int maxSpans) {
+        this.slowRequestLog = slowRequestLog;
+        this.thresholdNanos = thresholdMillis * 1_000_000;
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getQueryString() == null
+                ? request.getRequestURI() : request.getRequestURI() + "?" + request.getQueryString();
+        RequestTrace trace = RequestTracer.begin(request.getMethod(), path, maxSpans);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            RequestTracer.end();
+            long duration = end - trace.startNanos();
+            if (duration >= thresholdNanos) {
+                if (trace.handlerReturnedNanos() != 0) {
+                    trace.add(RequestTrace.Kind.SERIALIZATION, "response body", trace.handlerReturnedNanos(), end);
+                }
+                slowRequestLog.add(SlowRequest.of(trace, response.getStatus(), duration));
+                log.warn("Slow request {} {} took {} ms ({} SQL statements, {} ms in SQL)", trace.method(), path,
+                        duration / 1_000_000, trace.sqlStatements(), trace.sqlNanos() / 1_000_000);
+            }
+        }
+    }
+}
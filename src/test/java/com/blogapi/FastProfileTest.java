@@ -0,0 +1,30 @@
+package com.blogapi;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The fast profile skips schema update, but on the in-memory dev database it must still create
+ * the tables it serves from.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "fast"})
+class FastProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void devFast_ShouldServeFromACreatedSchema() throws Exception {
+        mockMvc.perform(get("/api/posts")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+    }
+}
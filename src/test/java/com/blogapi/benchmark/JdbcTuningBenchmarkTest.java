@@ -0,0 +1,158 @@
+package com.blogapi.benchmark;
+
+import com.blogapi.BlogApiApplication;
+import com.blogapi.model.dto.CategoryRequest;
+import com.blogapi.model.dto.PostRequest;
+import com.blogapi.model.entity.Category;
+import com.blogapi.repository.CategoryRepository;
+import com.blogapi.service.CategoryService;
+import com.blogapi.service.PostService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the same write/read workload against the default settings and against the
+ * production JDBC tuning profile and reports throughput for both.
+ * <p>
+ * Defaults to in-memory H2 in PostgreSQL mode. Point {@code -Dbench.baseline.url} and
+ * {@code -Dbench.tuned.url} at a local PostgreSQL instance (with {@code -Dbench.username}
+ * and {@code -Dbench.password}) to measure against the real driver. The tuned run then gets the
+ * driver parameters from the prod profile's URL appended, since the URL passed here replaces it.
+ */
+@Slf4j
+@Tag("benchmark")
+class JdbcTuningBenchmarkTest {
+
+    private static final int CATEGORIES = 5;
+    private static final int POSTS = Integer.getInteger("bench.posts", 2000);
+    private static final int PAGE_READS = Integer.getInteger("bench.reads", 1000);
+    private static final int PAGE_SIZE = 20;
+
+    @Test
+    void compareDefaultAndTunedJdbcSettings() {
+        Result baseline = run("dev", System.getProperty("bench.baseline.url",
+                "jdbc:h2:mem:bench-baseline;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"));
+        Result tuned = run("prod", withProdParameters(System.getProperty("bench.tuned.url",
+                "jdbc:h2:mem:bench-tuned;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")));
+
+        log.info("JDBC tuning benchmark ({} posts, {} page reads)", POSTS, PAGE_READS);
+        log.info("{}", baseline.describe("before (defaults)"));
+        log.info("{}", tuned.describe("after (prod tuning)"));
+
+        assertEquals(baseline.collectionSize(), tuned.collectionSize());
+    }
+
+    private Result run(String profile, String url) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments(profile, url).toArray(String[]::new))) {
+            PostService postService = context.getBean(PostService.class);
+            CategoryService categoryService = context.getBean(CategoryService.class);
+            CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+            TransactionTemplate transactionTemplate =
+                    new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            List<Long> categoryIds = new ArrayList<>();
+            for (int i = 0; i < CATEGORIES; i++) {
+                CategoryRequest request = new CategoryRequest();
+                request.setName("bench-category-" + i);
+                request.setDescription("Benchmark category " + i);
+                categoryIds.add(categoryService.createCategory(request).id());
+            }
+
+            long writeStart = System.nanoTime();
+            for (int i = 0; i < POSTS; i++) {
+                PostRequest request = new PostRequest();
+                request.setTitle("Benchmark post " + i);
+                request.setContent("Benchmark content for post " + i);
+                request.setAuthor("author-" + (i % 50));
+                request.setCategoryId(categoryIds.get(i % CATEGORIES));
+                postService.createPost(request);
+            }
+            long writeNanos = System.nanoTime() - writeStart;
+
+            int pages = Math.max(1, POSTS / PAGE_SIZE);
+            long readStart = System.nanoTime();
+            for (int i = 0; i < PAGE_READS; i++) {
+                postService.getAllPosts(PageRequest.of(i % pages, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt")));
+            }
+            long readNanos = System.nanoTime() - readStart;
+
+            long collectionStart = System.nanoTime();
+            Integer collectionSize = transactionTemplate.execute(status -> {
+                int total = 0;
+                for (Category category : categoryRepository.findAll()) {
+                    total += category.getPosts().size();
+                }
+                return total;
+            });
+            long collectionNanos = System.nanoTime() - collectionStart;
+
+            return new Result(writeNanos, readNanos, collectionNanos, collectionSize == null ? 0 : collectionSize);
+        }
+    }
+
+    private static String withProdParameters(String url) {
+        if (!url.startsWith("jdbc:postgresql:")) {
+            return url;
+        }
+        String prodUrl;
+        try {
+            prodUrl = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application-prod.properties"))
+                    .getProperty("spring.datasource.url");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        String parameters = prodUrl.substring(prodUrl.indexOf('?') + 1);
+        return url + (url.contains("?") ? "&" : "?") + parameters;
+    }
+
+    private List<String> arguments(String profile, String url) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.profiles.active=" + profile);
+        args.add("--spring.datasource.url=" + url);
+        args.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+        args.add("--spring.jpa.show-sql=false");
+        args.add("--logging.level.com.blogapi=WARN");
+        if (url.startsWith("jdbc:h2:")) {
+            args.add("--spring.datasource.driver-class-name=org.h2.Driver");
+            args.add("--spring.datasource.username=sa");
+            args.add("--spring.datasource.password=");
+            args.add("--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+        } else {
+            args.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+            args.add("--spring.datasource.username=" + System.getProperty("bench.username", "postgres"));
+            args.add("--spring.datasource.password=" + System.getProperty("bench.password", "postgres"));
+            args.add("--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        return args;
+    }
+
+    private record Result(long writeNanos, long readNanos, long collectionNanos, int collectionSize) {
+
+        String describe(String label) {
+            return String.format("%-20s writes: %8.1f posts/s | page reads: %8.1f pages/s | collection walk: %6.1f ms",
+                    label,
+                    POSTS / (writeNanos / 1e9),
+                    PAGE_READS / (readNanos / 1e9),
+                    collectionNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.blogapi.benchmark;
+
+import com.blogapi.model.dto.CategoryRequest;
+import com.blogapi.model.dto.PostRequest;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.repository.PostContentRepository;
+import com.blogapi.repository.PostRepository;
+import com.blogapi.service.CategoryService;
+import com.blogapi.service.PostService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads feed pages the way they are served now (bodies left in {@code post_contents}) and the way
+ * they used to be (every body loaded with its page), and reports time and heap allocated per page
+ * together with how much the stored bodies shrank.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.com.blogapi=WARN",
+        "blog.processing.backfill.on-startup=false"})
+class PostContentBenchmarkTest {
+
+    private static final int POSTS = Integer.getInteger("bench.content.posts", 500);
+    private static final int LARGE_EVERY = 10;
+    private static final int LARGE_SIZE = Integer.getInteger("bench.content.large-size", 200_000);
+    private static final int PAGE_SIZE = 20;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostContentRepository postContentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareFeedWithAndWithoutBodies() {
+        long rawBytes = createPosts();
+        int pages = POSTS / PAGE_SIZE;
+
+        Measurement feed = measure(page -> postRepository.findAllResponses(request(page)).getNumberOfElements(), pages);
+        Measurement withBodies = measure(page -> {
+            Page<PostResponse> posts = postRepository.findAllResponses(request(page));
+            return postContentRepository.findContentsByPostIdIn(posts.map(PostResponse::id).getContent()).size();
+        }, pages);
+
+        Long storedBytes = jdbcTemplate.queryForObject("SELECT SUM(OCTET_LENGTH(body)) FROM post_contents", Long.class);
+        log.warn("Feed page of {} ({} posts, every {}th {} KB):", PAGE_SIZE, POSTS, LARGE_EVERY, LARGE_SIZE / 1000);
+        log.warn("  feed without bodies: {}", feed);
+        log.warn("  feed with bodies:    {}", withBodies);
+        log.warn("  bodies stored: {} KB of {} KB raw", storedBytes / 1024, rawBytes / 1024);
+
+        assertEquals(PAGE_SIZE, feed.rows());
+        assertTrue(storedBytes < rawBytes);
+    }
+
+    private long createPosts() {
+        CategoryRequest categoryRequest = new CategoryRequest();
+        categoryRequest.setName("Content " + System.nanoTime());
+        Long categoryId = categoryService.createCategory(categoryRequest).id();
+
+        SplittableRandom random = new SplittableRandom(42);
+        long rawBytes = 0;
+        for (int i = 0; i < POSTS; i++) {
+            PostRequest request = new PostRequest();
+            request.setTitle("Post " + i);
+            request.setContent(body(random, i % LARGE_EVERY == 0 ? LARGE_SIZE : 2_000));
+            request.setAuthor("author-" + random.nextInt(50));
+            request.setCategoryId(categoryId);
+            postService.createPost(request);
+            rawBytes += request.getContent().length();
+        }
+        return rawBytes;
+    }
+
+    private String body(SplittableRandom random, int length) {
+        String[] words = {"spring", "data", "index", "query", "cache", "page", "heap", "row", "post", "feed"};
+        StringBuilder body = new StringBuilder(length + 16);
+        while (body.length() < length) {
+            body.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return body.substring(0, length);
+    }
+
+    private PageRequest request(int page) {
+        return PageRequest.of(page, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    private Measurement measure(PageRead read, int pages) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            read.rows(i % pages);
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        int rows = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            rows = read.rows(i % pages);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement(nanos / ITERATIONS, allocated / ITERATIONS, rows);
+    }
+
+    private interface PageRead {
+        int rows(int page);
+    }
+
+    private record Measurement(long nanosPerPage, long bytesPerPage, int rows) {
+
+        @Override
+        public String toString() {
+            return String.format("%7.2f ms/page, %8d KB allocated/page", nanosPerPage / 1e6, bytesPerPage / 1024);
+        }
+    }
+}
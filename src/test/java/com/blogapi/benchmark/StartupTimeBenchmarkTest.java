@@ -0,0 +1,132 @@
+package com.blogapi.benchmark;
+
+import com.blogapi.BlogApiApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Launches the application in a fresh JVM per variant and measures the wall-clock time until
+ * the first request that reads the database ({@code GET /api/posts}) succeeds, so a variant
+ * without its schema cannot report a time. The AOT and CDS variants are only
+ * measured when {@code mvn -Pfast-start verify} has produced their artifacts.
+ */
+@Slf4j
+@Tag("benchmark")
+class StartupTimeBenchmarkTest {
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path JAR = TARGET.resolve("blog-api-0.0.1-SNAPSHOT.jar");
+    private static final Path CDS_ARCHIVE = TARGET.resolve("application.jsa");
+    private static final int RUNS = Integer.getInteger("bench.startup.runs", 3);
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void reportTimeToFirstRequest() throws Exception {
+        String classpath = System.getProperty("java.class.path");
+        String mainClass = BlogApiApplication.class.getName();
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("default", List.of("-cp", classpath, mainClass, "--spring.profiles.active=dev"));
+        variants.put("fast", List.of("-cp", classpath, mainClass, "--spring.profiles.active=dev,fast"));
+        if (hasAotInitializer()) {
+            variants.put("fast+aot", List.of("-Dspring.aot.enabled=true", "-cp", classpath, mainClass,
+                    "--spring.profiles.active=dev,fast"));
+        }
+        if (Files.exists(JAR) && Files.exists(CDS_ARCHIVE)) {
+            variants.put("fast+aot+cds", List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE,
+                    "-Dspring.aot.enabled=true", "-jar", JAR.toString(), "--spring.profiles.active=dev,fast"));
+        }
+
+        Map<String, Long> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                best = Math.min(best, timeToFirstRequest(variant.getValue()));
+            }
+            results.put(variant.getKey(), best);
+        }
+
+        log.info("Time to first request (best of {} runs):", RUNS);
+        results.forEach((variant, millis) -> log.info("  {} {} ms", String.format("%-14s", variant), millis));
+        assertFalse(results.isEmpty());
+    }
+
+    private long timeToFirstRequest(List<String> arguments) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(arguments);
+        command.add("--server.port=" + port);
+        command.add("--logging.level.root=WARN");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("target/startup-benchmark.log")))
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/posts"))
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            long deadline = start + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue()
+                            + ", see target/startup-benchmark.log");
+                }
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException ex) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Application did not answer within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private boolean hasAotInitializer() {
+        try {
+            Class.forName(BlogApiApplication.class.getName() + "__ApplicationContextInitializer");
+            return true;
+        } catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
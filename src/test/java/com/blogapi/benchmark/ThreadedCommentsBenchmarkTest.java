@@ -0,0 +1,134 @@
+package com.blogapi.benchmark;
+
+import com.blogapi.model.dto.CategoryRequest;
+import com.blogapi.model.dto.CommentNodeResponse;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.PostRequest;
+import com.blogapi.model.entity.Comment;
+import com.blogapi.model.entity.CommentPaths;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.service.CategoryService;
+import com.blogapi.service.CommentService;
+import com.blogapi.service.PostService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares reading the first page of a 10k+ comment thread, one query per level, against
+ * loading the whole thread node by node through the parent reference.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.com.blogapi=WARN"})
+class ThreadedCommentsBenchmarkTest {
+
+    private static final int THREAD_SIZE = Integer.getInteger("bench.thread.size", 10_000);
+    private static final int ROOTS = 20;
+    private static final int ITERATIONS = 5;
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_PAGE_NODES = 1_000;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    void compareLevelQueriesWithRecursiveLoads() {
+        Long postId = createThread();
+
+        long pageNanos = Long.MAX_VALUE;
+        int pageCount = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            pageCount = count(commentService.getPostThread(postId, null, null, PAGE_SIZE).content());
+            pageNanos = Math.min(pageNanos, System.nanoTime() - start);
+        }
+
+        long recursiveNanos = Long.MAX_VALUE;
+        int recursiveCount = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            recursiveCount = 0;
+            for (Comment root : commentRepository.findByPostId(postId)) {
+                if (root.getParentId() == null) {
+                    recursiveCount += loadRecursively(root);
+                }
+            }
+            recursiveNanos = Math.min(recursiveNanos, System.nanoTime() - start);
+        }
+
+        log.warn("Thread of {} comments: first page of {} comments {} ms, recursive per-node loads {} ms",
+                THREAD_SIZE, pageCount, pageNanos / 1_000_000, recursiveNanos / 1_000_000);
+        assertTrue(pageCount >= ROOTS && pageCount <= MAX_PAGE_NODES);
+        assertEquals(THREAD_SIZE, recursiveCount);
+    }
+
+    private Long createThread() {
+        CategoryRequest categoryRequest = new CategoryRequest();
+        categoryRequest.setName("Threads " + System.nanoTime());
+        Long categoryId = categoryService.createCategory(categoryRequest).id();
+
+        PostRequest postRequest = new PostRequest();
+        postRequest.setTitle("Long thread");
+        postRequest.setContent("A post with a very long discussion");
+        postRequest.setAuthor("bench");
+        postRequest.setCategoryId(categoryId);
+        Long postId = postService.createPost(postRequest).id();
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Long> ids = new ArrayList<>(THREAD_SIZE);
+        List<Integer> depths = new ArrayList<>(THREAD_SIZE);
+        for (int i = 0; i < THREAD_SIZE; i++) {
+            CommentRequest request = new CommentRequest();
+            request.setContent("Comment " + i);
+            request.setAuthor("author-" + random.nextInt(100));
+            int parent = i < ROOTS ? -1 : random.nextInt(ids.size());
+            if (parent >= 0 && depths.get(parent) >= CommentPaths.MAX_DEPTH) {
+                parent = -1;
+            }
+            if (parent < 0) {
+                ids.add(commentService.addComment(postId, request).id());
+                depths.add(0);
+            } else {
+                ids.add(commentService.addReply(ids.get(parent), request).id());
+                depths.add(depths.get(parent) + 1);
+            }
+        }
+        return postId;
+    }
+
+    private int loadRecursively(Comment comment) {
+        int count = 1;
+        for (Comment reply : commentRepository.findByParentIdOrderByPath(comment.getId(), Pageable.unpaged())) {
+            count += loadRecursively(reply);
+        }
+        return count;
+    }
+
+    private int count(List<CommentNodeResponse> nodes) {
+        int count = 0;
+        for (CommentNodeResponse node : nodes) {
+            count += 1 + count(node.replies());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,83 @@
+package com.blogapi.cache;
+
+import com.blogapi.model.entity.Category;
+import com.blogapi.model.entity.Post;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationBusTest {
+
+    private Cache writerCache;
+    private Cache readerCache;
+    private CacheInvalidationBus writer;
+    private CacheInvalidationBus reader;
+
+    @BeforeEach
+    void setUp() {
+        LoopbackTransport transport = new LoopbackTransport();
+        writerCache = mock(Cache.class);
+        readerCache = mock(Cache.class);
+        writer = new CacheInvalidationBus(transport, entityManagerFactory(writerCache));
+        reader = new CacheInvalidationBus(transport, entityManagerFactory(readerCache));
+    }
+
+    @Test
+    void postChanged_ShouldEvictPostOnOtherNodes() {
+        writer.postChanged(1L);
+
+        verify(readerCache).evictEntityData(Post.class, 1L);
+        verify(readerCache).evictCollectionData(Category.class.getName() + ".posts");
+        verify(readerCache).evictDefaultQueryRegion();
+        verifyNoInteractions(writerCache);
+    }
+
+    @Test
+    void categoryChanged_ShouldEvictCategoryOnOtherNodes() {
+        writer.categoryChanged(2L);
+
+        verify(readerCache).evictEntityData(Category.class, 2L);
+        verify(readerCache).evictCollectionData(Category.class.getName() + ".posts", 2L);
+        verifyNoInteractions(writerCache);
+    }
+
+    @Test
+    void listeners_ShouldSeeLocalAndRemoteChangesOnce() {
+        List<CacheInvalidation> writerSeen = new ArrayList<>();
+        List<CacheInvalidation> readerSeen = new ArrayList<>();
+        writer.addListener(writerSeen::add);
+        reader.addListener(readerSeen::add);
+
+        writer.postChanged(4L);
+
+        assertEquals(1, writerSeen.size());
+        assertEquals(1, readerSeen.size());
+        assertEquals(4L, readerSeen.get(0).id());
+    }
+
+    @Test
+    void decode_ShouldRoundTripEncodedInvalidation() {
+        CacheInvalidation invalidation = new CacheInvalidation("node", CacheInvalidation.Type.POST_COMMENTS, 3L);
+
+        assertEquals(invalidation, CacheInvalidation.decode(invalidation.encode()));
+    }
+
+    private EntityManagerFactory entityManagerFactory(Cache cache) {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        return entityManagerFactory;
+    }
+}
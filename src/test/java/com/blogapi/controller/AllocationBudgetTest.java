@@ -0,0 +1,110 @@
+package com.blogapi.controller;
+
+import com.blogapi.config.JacksonConfig;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.service.FeedSnapshotService;
+import com.blogapi.service.IdempotencyService;
+import com.blogapi.service.PostService;
+import com.blogapi.service.PostViewCounter;
+import com.blogapi.service.TrendingPostTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fails the build when serializing a post, or serving it through the MVC stack, allocates more
+ * than its budget. Budgets can be tuned with {@code -Dalloc.budget.serialize} and
+ * {@code -Dalloc.budget.request} (bytes per operation).
+ */
+@WebMvcTest(PostController.class)
+@Import(JacksonConfig.class)
+@SuppressWarnings("null")
+class AllocationBudgetTest {
+
+    private static final long SERIALIZE_BUDGET = Long.getLong("alloc.budget.serialize", 16 * 1024);
+    private static final long REQUEST_BUDGET = Long.getLong("alloc.budget.request", 512 * 1024);
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private PostService postService;
+
+    @MockBean
+    private TrendingPostTracker trendingPostTracker;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private PostViewCounter postViewCounter;
+
+    @MockBean
+    private FeedSnapshotService feedSnapshotService;
+
+    private PostResponse postResponse;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        postResponse = new PostResponse(1L, "Test Post", "Test Content ".repeat(50), "Test Author", 1L,
+                "Technology", now, now, "Test Content", 100, 1, List.of("java", "spring"), 42L);
+        when(postService.getPostById(1L)).thenReturn(postResponse);
+    }
+
+    @Test
+    void serializePost_ShouldStayWithinAllocationBudget() throws Exception {
+        long bytes = allocatedPerOperation(() -> objectMapper.writeValueAsBytes(postResponse));
+
+        assertTrue(bytes <= SERIALIZE_BUDGET,
+                "Serializing a post allocated " + bytes + " bytes, budget is " + SERIALIZE_BUDGET);
+    }
+
+    @Test
+    void getPostById_ShouldStayWithinAllocationBudget() throws Exception {
+        long bytes = allocatedPerOperation(() -> mockMvc.perform(get("/api/posts/1")).andExpect(status().isOk()));
+
+        assertTrue(bytes <= REQUEST_BUDGET,
+                "GET /api/posts/{id} allocated " + bytes + " bytes, budget is " + REQUEST_BUDGET);
+    }
+
+    private long allocatedPerOperation(Operation operation) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
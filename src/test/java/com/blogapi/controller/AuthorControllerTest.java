@@ -0,0 +1,46 @@
+package com.blogapi.controller;
+
+import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.dto.AuthorStatsResponse;
+import com.blogapi.service.AuthorStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AuthorController.class)
+@SuppressWarnings("null")
+public class AuthorControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthorStatsService authorStatsService;
+
+    @Test
+    void getAuthorStats_ShouldReturn200() throws Exception {
+        when(authorStatsService.getStats("alice")).thenReturn(new AuthorStatsResponse("alice", 3, 7));
+
+        mockMvc.perform(get("/api/authors/{author}/stats", "alice")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.postCount").value(3))
+                .andExpect(jsonPath("$.commentCount").value(7));
+    }
+
+    @Test
+    void getAuthorStats_ShouldReturn404ForUnknownAuthor() throws Exception {
+        when(authorStatsService.getStats("nobody")).thenThrow(new ResourceNotFoundException("Author not found: nobody"));
+
+        mockMvc.perform(get("/api/authors/{author}/stats", "nobody")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -40,11 +40,7 @@ public class CategoryControllerTest {
 
     @BeforeEach
     void setUp() {
-        categoryResponse = CategoryResponse.builder()
-                .id(1L)
-                .name("Technology")
-                .description("Tech posts")
-                .build();
+        categoryResponse = new CategoryResponse(1L, "Technology", "Tech posts");
 
         categoryRequest = new CategoryRequest();
         categoryRequest.setName("Technology");
@@ -1,8 +1,11 @@
 package com.blogapi.controller;
 
+import com.blogapi.model.dto.CommentNodeResponse;
 import com.blogapi.model.dto.CommentRequest;
 import com.blogapi.model.dto.CommentResponse;
+import com.blogapi.model.dto.KeysetPage;
 import com.blogapi.service.CommentService;
+import com.blogapi.service.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +21,8 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +37,9 @@ public class CommentControllerTest {
     @MockBean
     private CommentService commentService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -40,11 +48,7 @@ public class CommentControllerTest {
 
     @BeforeEach
     void setUp() {
-        commentResponse = CommentResponse.builder()
-                .id(1L)
-                .content("Test Comment")
-                .author("Test Author")
-                .build();
+        commentResponse = new CommentResponse(1L, "Test Comment", "Test Author", null, null, 0);
 
         commentRequest = new CommentRequest();
         commentRequest.setContent("Test Comment");
@@ -73,6 +77,21 @@ public class CommentControllerTest {
                 .andExpect(jsonPath("$.content").value("Test Comment"));
     }
 
+    @Test
+    void addComment_WithIdempotencyKey_ShouldGoThroughIdempotencyService() throws Exception {
+        when(idempotencyService.execute(eq("comments:1"), eq("key-1"), any(), eq(CommentResponse.class), any()))
+                .thenReturn(commentResponse);
+
+        mockMvc.perform(post("/api/posts/{postId}/comments", 1L)
+                .header(IdempotencyService.HEADER, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(commentRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.content").value("Test Comment"));
+
+        verify(commentService, never()).addComment(eq(1L), any(CommentRequest.class));
+    }
+
     @Test
     void updateComment_ShouldReturn200() throws Exception {
         when(commentService.updateComment(eq(1L), any(CommentRequest.class))).thenReturn(commentResponse);
@@ -91,4 +110,35 @@ public class CommentControllerTest {
         mockMvc.perform(delete("/api/comments/{id}", 1L))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void addReply_ShouldReturn201() throws Exception {
+        CommentResponse reply = new CommentResponse(2L, "Test Reply", "Test Author", null, 1L, 1);
+        when(commentService.addReply(eq(1L), any(CommentRequest.class))).thenReturn(reply);
+
+        mockMvc.perform(post("/api/comments/{id}/replies", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(commentRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.parentId").value(1))
+                .andExpect(jsonPath("$.depth").value(1));
+    }
+
+    @Test
+    void getPostThread_ShouldReturnNestedReplies() throws Exception {
+        CommentNodeResponse reply = new CommentNodeResponse(2L, "Test Reply", "Test Author", null, 1L, 1, true,
+                List.of());
+        CommentNodeResponse root = new CommentNodeResponse(1L, "Test Comment", "Test Author", null, null, 0, false,
+                List.of(reply));
+        when(commentService.getPostThread(1L, 2, null, 20)).thenReturn(new KeysetPage<>(List.of(root), "1"));
+
+        mockMvc.perform(get("/api/posts/{postId}/comments/thread", 1L)
+                .param("maxDepth", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].content").value("Test Comment"))
+                .andExpect(jsonPath("$.content[0].replies[0].content").value("Test Reply"))
+                .andExpect(jsonPath("$.content[0].replies[0].moreReplies").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("1"));
+    }
 }
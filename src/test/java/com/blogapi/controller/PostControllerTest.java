@@ -1,8 +1,17 @@
 package com.blogapi.controller;
 
+import com.blogapi.model.dto.KeysetPage;
+import com.blogapi.model.dto.MostViewedPostResponse;
+import com.blogapi.model.dto.PageTotals;
 import com.blogapi.model.dto.PostRequest;
 import com.blogapi.model.dto.PostResponse;
+import com.blogapi.model.dto.PostSearchRequest;
+import com.blogapi.model.dto.TrendingPostResponse;
+import com.blogapi.service.FeedSnapshotService;
+import com.blogapi.service.IdempotencyService;
 import com.blogapi.service.PostService;
+import com.blogapi.service.PostViewCounter;
+import com.blogapi.service.TrendingPostTracker;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,18 +22,26 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +56,18 @@ public class PostControllerTest {
         @MockBean
         private PostService postService;
 
+        @MockBean
+        private TrendingPostTracker trendingPostTracker;
+
+        @MockBean
+        private IdempotencyService idempotencyService;
+
+        @MockBean
+        private PostViewCounter postViewCounter;
+
+        @MockBean
+        private FeedSnapshotService feedSnapshotService;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -48,13 +77,8 @@ public class PostControllerTest {
         @BeforeEach
         void setUp() {
 
-                postResponse = PostResponse.builder()
-                                .id(1L)
-                                .title("Test Post")
-                                .content("Test Content")
-                                .author("Test Author")
-                                .categoryId(1L)
-                                .build();
+                postResponse = new PostResponse(1L, "Test Post", "Test Content", "Test Author", 1L, null,
+                                null, null, null, null, null, List.of(), 0L);
 
                 postRequest = new PostRequest();
                 postRequest.setTitle("Test Post");
@@ -70,13 +94,66 @@ public class PostControllerTest {
 
                 // For testing PageImpl, we bypass MockMvc JSON serialization to avoid
                 // HttpMessageNotWritableException
-                PostController controller = new PostController(postService);
-                ResponseEntity<Page<PostResponse>> response = controller.getAllPosts(PageRequest.of(0, 10));
+                PostController controller = new PostController(postService, trendingPostTracker, idempotencyService,
+                                postViewCounter, feedSnapshotService);
+                ResponseEntity<?> response = controller.getAllPosts(PageRequest.of(0, 10), null, "exact", null);
 
                 assertNotNull(response);
                 assertEquals(200, response.getStatusCode().value());
-                assertEquals(1, response.getBody().getTotalElements());
-                assertEquals("Test Post", response.getBody().getContent().get(0).getTitle());
+                Page<?> body = (Page<?>) response.getBody();
+                assertEquals(1, body.getTotalElements());
+                assertEquals("Test Post", ((PostResponse) body.getContent().get(0)).title());
+        }
+
+        @Test
+        void getAllPosts_ShouldSkipCountWithoutTotals() throws Exception {
+                when(postService.getAllPosts(any(Pageable.class), eq(PageTotals.NONE)))
+                                .thenReturn(new SliceImpl<>(List.of(postResponse), PageRequest.of(0, 10), true));
+
+                PostController controller = new PostController(postService, trendingPostTracker, idempotencyService,
+                                postViewCounter, feedSnapshotService);
+                ResponseEntity<?> response = controller.getAllPosts(PageRequest.of(0, 10), null, "none", null);
+
+                Slice<?> body = (Slice<?>) response.getBody();
+                assertTrue(body.hasNext());
+                verify(postService, never()).getAllPosts(any(Pageable.class));
+        }
+
+        @Test
+        void getAllPosts_ShouldRejectUnknownTotals() throws Exception {
+                mockMvc.perform(get("/api/posts").param("totals", "roughly"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void getAllPosts_ShouldServeSnapshotWithoutQuery() throws Exception {
+                byte[] json = "{\"content\":[{\"id\":1,\"title\":\"Snapshot\"}]}".getBytes(StandardCharsets.UTF_8);
+                when(feedSnapshotService.find(eq(null), any(Pageable.class)))
+                                .thenReturn(new FeedSnapshotService.Snapshot(json, new byte[0]));
+
+                mockMvc.perform(get("/api/posts"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                                .andExpect(jsonPath("$.content[0].title").value("Snapshot"));
+
+                verify(postService, never()).getAllPosts(any(Pageable.class));
+        }
+
+        @Test
+        void getAllPosts_ShouldNotServeSnapshotWithoutExactTotals() throws Exception {
+                byte[] json = "{\"content\":[{\"id\":1,\"title\":\"Snapshot\"}]}".getBytes(StandardCharsets.UTF_8);
+                when(feedSnapshotService.find(eq(null), any(Pageable.class)))
+                                .thenReturn(new FeedSnapshotService.Snapshot(json, new byte[0]));
+                when(postService.getAllPosts(any(Pageable.class), eq(PageTotals.NONE)))
+                                .thenReturn(new SliceImpl<>(List.of(postResponse), PageRequest.of(0, 10), true));
+
+                PostController controller = new PostController(postService, trendingPostTracker, idempotencyService,
+                                postViewCounter, feedSnapshotService);
+                ResponseEntity<?> response = controller.getAllPosts(PageRequest.of(0, 10), null, "none", null);
+
+                Slice<?> body = (Slice<?>) response.getBody();
+                assertEquals("Test Post", ((PostResponse) body.getContent().get(0)).title());
+                verify(feedSnapshotService, never()).find(any(), any(Pageable.class));
         }
 
         @Test
@@ -100,6 +177,21 @@ public class PostControllerTest {
                                 .andExpect(jsonPath("$.title").value("Test Post"));
         }
 
+        @Test
+        void createPost_WithIdempotencyKey_ShouldGoThroughIdempotencyService() throws Exception {
+                when(idempotencyService.execute(eq("posts"), eq("key-1"), any(), eq(PostResponse.class), any()))
+                                .thenReturn(postResponse);
+
+                mockMvc.perform(post("/api/posts")
+                                .header(IdempotencyService.HEADER, "key-1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(postRequest)))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.title").value("Test Post"));
+
+                verify(postService, never()).createPost(any(PostRequest.class));
+        }
+
         @Test
         void updatePost_ShouldReturn200() throws Exception {
                 when(postService.updatePost(eq(1L), any(PostRequest.class))).thenReturn(postResponse);
@@ -129,4 +221,59 @@ public class PostControllerTest {
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$[0].title").value("Test Post"));
         }
+
+        @Test
+        void getTrendingPosts_ShouldReturn200() throws Exception {
+                TrendingPostResponse trending = new TrendingPostResponse(1L, 5);
+                when(trendingPostTracker.getTrending(10)).thenReturn(List.of(trending));
+
+                mockMvc.perform(get("/api/posts/trending")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].postId").value(1))
+                                .andExpect(jsonPath("$[0].commentCount").value(5));
+        }
+
+        @Test
+        void getPostsByAuthor_ShouldReturnKeysetPage() throws Exception {
+                when(postService.getPostsByAuthor("Test Author", null, 20))
+                                .thenReturn(new KeysetPage<>(List.of(postResponse), "next"));
+
+                mockMvc.perform(get("/api/posts").param("author", "Test Author")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].title").value("Test Post"))
+                                .andExpect(jsonPath("$.nextCursor").value("next"));
+        }
+
+        @Test
+        void getMostViewedPosts_ShouldReturn200() throws Exception {
+                when(postViewCounter.getMostViewed(10)).thenReturn(List.of(new MostViewedPostResponse(1L, 42)));
+
+                mockMvc.perform(get("/api/posts/most-viewed")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].postId").value(1))
+                                .andExpect(jsonPath("$[0].viewCount").value(42));
+        }
+
+        @Test
+        void searchPosts_ShouldBindFiltersAndReturnSlice() throws Exception {
+                PostResponse post = new PostResponse(1L, "Spring tips", "Content", "Author", 1L, "Tech",
+                                null, null, null, null, null, List.of(), 0L);
+                when(postService.searchPosts(any(PostSearchRequest.class), any(Pageable.class)))
+                                .thenReturn(new SliceImpl<>(List.of(post), PageRequest.of(0, 20), true));
+
+                mockMvc.perform(get("/api/posts/search")
+                                .param("category", "1", "2")
+                                .param("q", "Spr")
+                                .param("sort", "title,asc")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].title").value("Spring tips"))
+                                .andExpect(jsonPath("$.last").value(false));
+
+                verify(postService).searchPosts(argThat(request -> request.getCategory().equals(List.of(1L, 2L))
+                                && "Spr".equals(request.getQ())), any(Pageable.class));
+        }
 }
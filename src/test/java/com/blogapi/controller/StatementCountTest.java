@@ -0,0 +1,172 @@
+package com.blogapi.controller;
+
+import com.blogapi.model.dto.CategoryRequest;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.PostRequest;
+import com.blogapi.service.CategoryService;
+import com.blogapi.service.CommentService;
+import com.blogapi.service.PostService;
+import com.blogapi.tracing.SlowRequest;
+import com.blogapi.tracing.SlowRequestLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the SQL round trips of the read and write endpoints, using the request tracer with every
+ * request recorded as slow.
+ */
+@SpringBootTest(properties = "blog.tracing.slow-request-millis=0")
+@AutoConfigureMockMvc
+@SuppressWarnings("null")
+class StatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    private Long categoryId;
+    private Long postId;
+    private Long commentId;
+
+    @BeforeEach
+    void setUp() {
+        CategoryRequest categoryRequest = new CategoryRequest();
+        categoryRequest.setName("Round trips " + System.nanoTime());
+        categoryId = categoryService.createCategory(categoryRequest).id();
+
+        PostRequest postRequest = new PostRequest();
+        postRequest.setTitle("Counted");
+        postRequest.setContent("A post whose statements are counted");
+        postRequest.setAuthor("counter");
+        postRequest.setCategoryId(categoryId);
+        postId = postService.createPost(postRequest).id();
+
+        commentId = commentService.addComment(postId, comment()).id();
+        commentService.addReply(commentId, comment());
+    }
+
+    @Test
+    void getComments_ShouldUseOneStatement() throws Exception {
+        mockMvc.perform(get("/api/posts/{postId}/comments", postId)).andExpect(status().isOk());
+
+        assertStatements(1, 1);
+    }
+
+    @Test
+    void getComments_ShouldCheckTheArchiveForMissingPost() throws Exception {
+        mockMvc.perform(get("/api/posts/{postId}/comments", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        // The live tables, then the archive
+        assertStatements(2, 2);
+    }
+
+    @Test
+    void getPostsByCategory_ShouldUseOneStatement() throws Exception {
+        mockMvc.perform(get("/api/posts/category/{categoryId}", categoryId)).andExpect(status().isOk());
+
+        assertStatements(1, 1);
+    }
+
+    @Test
+    void addComment_ShouldNotLoadThePost() throws Exception {
+        mockMvc.perform(post("/api/posts/{postId}/comments", postId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"Another\",\"author\":\"reader\"}"))
+                .andExpect(status().isCreated());
+
+        assertEquals(0, selects(latest()));
+    }
+
+    @Test
+    void addComment_ShouldReturn404ForMissingPost() throws Exception {
+        mockMvc.perform(post("/api/posts/{postId}/comments", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"Orphan\",\"author\":\"reader\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deletePost_ShouldNotSelect() throws Exception {
+        mockMvc.perform(delete("/api/posts/{id}", postId)).andExpect(status().isNoContent());
+
+        // Author stats, the comments, the post (its body cascades) and its view counter
+        assertStatements(4, 0);
+        mockMvc.perform(get("/api/posts/{postId}/comments", postId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deletePost_ShouldReturn404ForMissingPost() throws Exception {
+        mockMvc.perform(delete("/api/posts/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        assertEquals(0, selects(latest()));
+    }
+
+    @Test
+    void deleteCategory_ShouldOnlySelectItsPostIds() throws Exception {
+        mockMvc.perform(delete("/api/categories/{id}", categoryId)).andExpect(status().isNoContent());
+
+        // The post ids, author stats, the posts' view counts, comments and posts, and the category itself
+        assertStatements(6, 1);
+        mockMvc.perform(get("/api/posts/category/{categoryId}", categoryId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteComment_ShouldLoadTheCommentOnce() throws Exception {
+        mockMvc.perform(delete("/api/comments/{id}", commentId)).andExpect(status().isNoContent());
+
+        // The comment's path, author stats, the subtree's comment times (the post is trending) and the delete
+        assertStatements(4, 2);
+    }
+
+    private void assertStatements(int statements, int selects) {
+        SlowRequest request = latest();
+        assertEquals(statements, request.sqlStatements(), () -> sql(request).toString());
+        assertEquals(selects, selects(request), () -> sql(request).toString());
+    }
+
+    private SlowRequest latest() {
+        return slowRequestLog.recent().get(0);
+    }
+
+    private long selects(SlowRequest request) {
+        return sql(request).stream().filter(sql -> sql.trim().toLowerCase().startsWith("select")).count();
+    }
+
+    private List<String> sql(SlowRequest request) {
+        return request.spans().stream()
+                .filter(span -> span.kind().equals("SQL"))
+                .map(SlowRequest.SpanView::name)
+                .toList();
+    }
+
+    private static CommentRequest comment() {
+        CommentRequest request = new CommentRequest();
+        request.setContent("Counted comment");
+        request.setAuthor("reader");
+        return request;
+    }
+}
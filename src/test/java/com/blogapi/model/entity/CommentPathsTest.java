@@ -0,0 +1,37 @@
+package com.blogapi.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommentPathsTest {
+
+    @Test
+    void segment_ShouldBeFixedWidth() {
+        assertEquals("000000000042", CommentPaths.segment(42));
+        assertEquals(CommentPaths.SEGMENT_WIDTH, CommentPaths.segment(123456789L).length());
+    }
+
+    @Test
+    void pathOrder_ShouldBeDepthFirst() {
+        String root = CommentPaths.segment(5);
+        String reply = CommentPaths.child(root, 100);
+        String nestedReply = CommentPaths.child(reply, 7);
+        String nextRoot = CommentPaths.segment(6);
+
+        assertTrue(root.compareTo(reply) < 0);
+        assertTrue(reply.compareTo(nestedReply) < 0);
+        assertTrue(nestedReply.compareTo(nextRoot) < 0);
+    }
+
+    @Test
+    void upperBound_ShouldEnclosePrefixRangeOnly() {
+        String root = CommentPaths.segment(19);
+        String bound = CommentPaths.upperBound(root);
+
+        assertTrue(CommentPaths.child(root, 999999999999L).compareTo(bound) < 0);
+        assertTrue(CommentPaths.segment(20).compareTo(bound) >= 0);
+        assertEquals("00000000002", CommentPaths.upperBound(root));
+    }
+}
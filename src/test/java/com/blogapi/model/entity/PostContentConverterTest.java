@@ -0,0 +1,37 @@
+package com.blogapi.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostContentConverterTest {
+
+    @Test
+    void encode_ShouldKeepShortBodiesUncompressed() {
+        String content = "A short post about ünïcode";
+
+        byte[] encoded = PostContentConverter.encode(content);
+
+        assertEquals(content.getBytes(StandardCharsets.UTF_8).length + 1, encoded.length);
+        assertEquals(content, PostContentConverter.decode(encoded));
+    }
+
+    @Test
+    void encode_ShouldDeflateLargeBodies() {
+        String content = "Spring Data keeps the feed fast. ".repeat(5_000);
+
+        byte[] encoded = PostContentConverter.encode(content);
+
+        assertTrue(encoded.length < content.length() / 10);
+        assertEquals(content, PostContentConverter.decode(encoded));
+    }
+
+    @Test
+    void decode_ShouldRejectUnknownEncoding() {
+        assertThrows(IllegalStateException.class, () -> PostContentConverter.decode(new byte[] {7, 1, 2}));
+    }
+}
@@ -0,0 +1,148 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.dto.CategoryRequest;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.PostRequest;
+import com.blogapi.model.entity.Post;
+import com.blogapi.service.CategoryService;
+import com.blogapi.service.CommentService;
+import com.blogapi.service.PostService;
+import com.blogapi.service.PostViewCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs on its own database whose {@code comments.post_id} foreign key has no
+ * {@code ON DELETE CASCADE}, like schemas created before the cascade was mapped.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:legacy-comment-fk;DB_CLOSE_DELAY=-1",
+        "blog.warmup.enabled=false",
+        // Processing evicts each new post once; keep it from racing the cache assertions
+        "blog.processing.flush-interval=3600000"
+})
+@SuppressWarnings("null")
+class PostDeleteRepositoryTest {
+
+    private static final String FIND_COMMENT_POST_FK = "SELECT tc.constraint_name "
+            + "FROM information_schema.table_constraints tc JOIN information_schema.key_column_usage k "
+            + "ON k.constraint_name = tc.constraint_name AND k.table_name = tc.table_name "
+            + "WHERE LOWER(tc.table_name) = 'comments' AND tc.constraint_type = 'FOREIGN KEY' "
+            + "AND LOWER(k.column_name) = 'post_id'";
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        for (String constraint : jdbcTemplate.queryForList(FIND_COMMENT_POST_FK, String.class)) {
+            jdbcTemplate.execute("ALTER TABLE comments DROP CONSTRAINT " + constraint);
+        }
+        jdbcTemplate.execute("ALTER TABLE comments ADD CONSTRAINT fk_comments_post_legacy "
+                + "FOREIGN KEY (post_id) REFERENCES posts (id)");
+
+        CategoryRequest categoryRequest = new CategoryRequest();
+        categoryRequest.setName("Deletes " + System.nanoTime());
+        categoryId = categoryService.createCategory(categoryRequest).id();
+    }
+
+    @Test
+    void deletePost_ShouldDeleteCommentsWithoutCascade() {
+        Long postId = postWithComment();
+
+        postService.deletePost(postId);
+
+        assertFalse(postRepository.existsById(postId));
+        assertEquals(0, commentCount(postId));
+    }
+
+    @Test
+    void deleteCategory_ShouldDeleteCommentsWithoutCascade() {
+        Long postId = postWithComment();
+
+        categoryService.deleteCategory(categoryId);
+
+        assertFalse(postRepository.existsById(postId));
+        assertEquals(0, commentCount(postId));
+    }
+
+    @Test
+    void deleteCategory_ShouldDeleteViewCounts() {
+        Long postId = postWithComment();
+        postService.getPostById(postId);
+        postViewCounter.flush();
+        // Not yet flushed when the category goes
+        postService.getPostById(postId);
+
+        categoryService.deleteCategory(categoryId);
+        postViewCounter.flush();
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_views WHERE post_id = ?",
+                Long.class, postId));
+        assertTrue(postViewCounter.getMostViewed(100).stream().noneMatch(view -> view.postId().equals(postId)));
+    }
+
+    @Test
+    void deletePost_ShouldKeepOtherPostsCached() {
+        Long deleted = postWithComment();
+        Long kept = postWithComment();
+        postRepository.findAllById(List.of(deleted, kept));
+
+        postService.deletePost(deleted);
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertFalse(cache.containsEntity(Post.class, deleted));
+        assertTrue(cache.containsEntity(Post.class, kept));
+    }
+
+    private Long postWithComment() {
+        PostRequest postRequest = new PostRequest();
+        postRequest.setTitle("Deleted with its comments");
+        postRequest.setContent("Body");
+        postRequest.setAuthor("deleter");
+        postRequest.setCategoryId(categoryId);
+        Long postId = postService.createPost(postRequest).id();
+
+        CommentRequest commentRequest = new CommentRequest();
+        commentRequest.setContent("Reply");
+        commentRequest.setAuthor("reader");
+        commentService.addComment(postId, commentRequest);
+        return postId;
+    }
+
+    private long commentCount(Long postId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE post_id = ?", Long.class, postId);
+    }
+}
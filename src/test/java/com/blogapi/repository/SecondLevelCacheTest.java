@@ -0,0 +1,43 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.Category;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "blog.warmup.enabled=false")
+@SuppressWarnings("null")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findById_ShouldBeServedFromSecondLevelCache() {
+        Category category = new Category();
+        category.setName("Cached " + System.nanoTime());
+        category.setDescription("Second-level cache");
+        Long id = categoryRepository.save(category).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        EntityStatistics categoryStatistics = statistics.getEntityStatistics(Category.class.getName());
+        categoryRepository.findById(id);
+        long loads = categoryStatistics.getLoadCount();
+        long hits = categoryStatistics.getCacheHitCount();
+
+        categoryRepository.findById(id);
+        categoryRepository.findById(id);
+
+        assertEquals(loads, categoryStatistics.getLoadCount());
+        assertEquals(hits + 2, categoryStatistics.getCacheHitCount());
+    }
+}
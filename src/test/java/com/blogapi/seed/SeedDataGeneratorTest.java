@@ -0,0 +1,60 @@
+package com.blogapi.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeedDataGeneratorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private SeedDataGenerator generator(long seed) {
+        return new SeedDataGenerator(seed, 20, 10_000, 100, SeedDataGenerator.CategoryDistribution.ZIPF, 1.1,
+                10, 0.5, START, Duration.ofDays(30));
+    }
+
+    @Test
+    void posts_ShouldNotDependOnHowRangesAreSplit() {
+        List<SeedDataGenerator.PostRow> split = new ArrayList<>(generator(42).posts(1, 500));
+        split.addAll(generator(42).posts(501, 1_000));
+
+        assertEquals(generator(42).posts(1, 1_000), split);
+        assertNotEquals(generator(7).posts(1, 1_000), split);
+    }
+
+    @Test
+    void posts_ShouldSkewTowardsFirstCategories() {
+        Map<Long, Long> perCategory = generator(42).posts(1, 10_000).stream()
+                .collect(Collectors.groupingBy(SeedDataGenerator.PostRow::categoryId, Collectors.counting()));
+
+        assertTrue(perCategory.get(1L) > 5 * perCategory.getOrDefault(20L, 1L));
+    }
+
+    @Test
+    void comments_ShouldConcentrateOnViralPosts() {
+        Map<Long, Long> perPost = generator(42).comments(1, 20_000).stream()
+                .collect(Collectors.groupingBy(SeedDataGenerator.CommentRow::postId, Collectors.counting()));
+
+        long top = perPost.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        assertTrue(top > 1_000, "most commented post has " + top + " comments");
+        assertTrue(generator(42).comments(1, 1_000).stream()
+                .allMatch(comment -> !comment.createdAt().isBefore(generator(42).postCreatedAt(comment.postId()))));
+    }
+
+    @Test
+    void comments_ShouldBeReproducibleFromSeed() {
+        Function<Long, List<SeedDataGenerator.CommentRow>> comments = seed -> generator(seed).comments(1, 1_000);
+
+        assertEquals(comments.apply(42L), comments.apply(42L));
+    }
+}
@@ -0,0 +1,67 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.CategoryRequest;
+import com.blogapi.model.dto.PostRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@SuppressWarnings("null")
+class AuthorStatsServiceTest {
+
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private AuthorStatsService authorStatsService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void postAdded_ShouldCountConcurrentFirstPostsOfANewAuthor() throws Exception {
+        CategoryRequest categoryRequest = new CategoryRequest();
+        categoryRequest.setName("Stats " + System.nanoTime());
+        Long categoryId = categoryService.createCategory(categoryRequest).id();
+        String author = "newcomer-" + System.nanoTime();
+
+        CyclicBarrier start = new CyclicBarrier(WRITERS);
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<CompletableFuture<Void>> posts = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                PostRequest postRequest = new PostRequest();
+                postRequest.setTitle("First post " + i);
+                postRequest.setContent("Written at the same time as the others");
+                postRequest.setAuthor(author);
+                postRequest.setCategoryId(categoryId);
+                posts.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                    postService.createPost(postRequest);
+                }, writers));
+            }
+            // Any create failing on the derived counter fails the join
+            CompletableFuture.allOf(posts.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            writers.shutdown();
+        }
+
+        assertEquals(WRITERS, authorStatsService.getStats(author).postCount());
+    }
+}
@@ -0,0 +1,128 @@
+package com.blogapi.service;
+
+import com.blogapi.actuator.WarmUpHealthIndicator;
+import com.blogapi.model.dto.MostViewedPostResponse;
+import com.blogapi.model.dto.TrendingPostResponse;
+import com.blogapi.model.entity.Category;
+import com.blogapi.model.entity.Post;
+import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.PostContentRepository;
+import com.blogapi.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheWarmUpServiceTest {
+
+    private CategoryRepository categoryRepository;
+    private PostRepository postRepository;
+    private PostContentRepository postContentRepository;
+    private PostViewCounter postViewCounter;
+    private TrendingPostTracker trendingPostTracker;
+    private Set<String> threads;
+    private CacheWarmUpService warmUpService;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository = mock(CategoryRepository.class);
+        postRepository = mock(PostRepository.class);
+        postContentRepository = mock(PostContentRepository.class);
+        postViewCounter = mock(PostViewCounter.class);
+        trendingPostTracker = mock(TrendingPostTracker.class);
+        threads = ConcurrentHashMap.newKeySet();
+
+        when(categoryRepository.findAll()).thenReturn(LongStream.rangeClosed(1, 5)
+                .mapToObj(id -> Category.builder().id(id).name("Category " + id).build())
+                .toList());
+        when(postRepository.findByCategoryIdOrderByCreatedAtDescIdDesc(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    threads.add(Thread.currentThread().getName());
+                    Long categoryId = invocation.getArgument(0);
+                    return List.of(post(categoryId * 10), post(categoryId * 10 + 1));
+                });
+        when(trendingPostTracker.getTrending(anyInt())).thenReturn(List.of(new TrendingPostResponse(7L, 3)));
+        when(postViewCounter.getMostViewed(anyInt()))
+                .thenReturn(List.of(new MostViewedPostResponse(7L, 40), new MostViewedPostResponse(8L, 30)));
+        when(postRepository.findAllById(any())).thenReturn(List.of(post(7L), post(8L)));
+
+        // Each partition runs on its own thread so the test sees how categories were split
+        warmUpService = new CacheWarmUpService(categoryRepository, postRepository, postContentRepository,
+                postViewCounter, trendingPostTracker, task -> new Thread(task, "partition-" + System.nanoTime()).start(),
+                true, 2, 20, 100);
+    }
+
+    @Test
+    void warmUp_ShouldLoadEveryCategoryAcrossPartitions() {
+        warmUpService.warmUp();
+
+        for (long categoryId = 1; categoryId <= 5; categoryId++) {
+            verify(postRepository).findByCategoryIdOrderByCreatedAtDescIdDesc(eq(categoryId), any(Pageable.class));
+        }
+        assertEquals(2, threads.size());
+        CacheWarmUpService.Status status = warmUpService.getStatus();
+        assertEquals(CacheWarmUpService.State.WARM, status.state());
+        assertEquals(5, status.categories());
+        assertEquals(10, status.posts());
+        assertEquals(2, status.hotPosts());
+    }
+
+    @Test
+    void warmUp_ShouldLoadHotPostsOnce() {
+        warmUpService.warmUp();
+
+        verify(postRepository).findAllById(Set.of(7L, 8L));
+        verify(postContentRepository).findAllById(Set.of(7L, 8L));
+        verify(postViewCounter).getViewCounts(any());
+    }
+
+    @Test
+    void warmUp_ShouldLoadBodiesOfRecentPosts() {
+        warmUpService.warmUp();
+
+        // Two partitions: odd category ids on one, even on the other
+        verify(postContentRepository).findAllById(List.of(10L, 11L, 30L, 31L, 50L, 51L));
+        verify(postContentRepository).findAllById(List.of(20L, 21L, 40L, 41L));
+    }
+
+    @Test
+    void health_ShouldStayOutOfServiceUntilWarm() {
+        WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(warmUpService);
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+        warmUpService.warmUp();
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    @Test
+    void health_ShouldBeUpWhenWarmUpFails() {
+        when(categoryRepository.findAll()).thenThrow(new IllegalStateException("database unavailable"));
+        WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(warmUpService);
+
+        warmUpService.warmUp();
+
+        assertEquals(CacheWarmUpService.State.FAILED, warmUpService.getStatus().state());
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    private static Post post(Long id) {
+        Post post = new Post();
+        post.setId(id);
+        return post;
+    }
+}
@@ -1,9 +1,14 @@
 package com.blogapi.service;
 
+import com.blogapi.cache.CacheInvalidationBus;
 import com.blogapi.model.dto.CategoryRequest;
 import com.blogapi.model.dto.CategoryResponse;
+import com.blogapi.exception.ConflictException;
+import com.blogapi.exception.ResourceNotFoundException;
 import com.blogapi.model.entity.Category;
 import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.PostRepository;
+import com.blogapi.sharding.ShardRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,10 +16,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -25,6 +32,24 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private TrendingPostTracker trendingPostTracker;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private PostViewCounter postViewCounter;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private AuthorStatsService authorStatsService;
+
+    @Mock
+    private ShardRouter shardRouter;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -50,7 +75,7 @@ class CategoryServiceTest {
         CategoryResponse response = categoryService.createCategory(categoryRequest);
 
         assertNotNull(response);
-        assertEquals(category.getName(), response.getName());
+        assertEquals(category.getName(), response.name());
         verify(categoryRepository, times(1)).save(any(Category.class));
     }
 
@@ -61,6 +86,37 @@ class CategoryServiceTest {
         CategoryResponse response = categoryService.getCategoryById(1L);
 
         assertNotNull(response);
-        assertEquals(category.getName(), response.getName());
+        assertEquals(category.getName(), response.name());
+    }
+
+    @Test
+    void deleteCategory_ShouldDropViewsAndTrendingOfItsPosts() {
+        when(postRepository.findIdsByCategoryId(1L)).thenReturn(List.of(7L));
+        when(categoryRepository.deleteCategoryById(1L)).thenReturn(1);
+
+        categoryService.deleteCategory(1L);
+
+        verify(postRepository).deletePostsByCategoryId(1L);
+        verify(postViewCounter).removeAll(List.of(7L));
+        verify(trendingPostTracker).remove(7L);
+        verify(cacheInvalidationBus).categoryChanged(1L);
+    }
+
+    @Test
+    void deleteCategory_ShouldThrowWhenNoRowWasDeleted() {
+        when(categoryRepository.deleteCategoryById(1L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.deleteCategory(1L));
+        verify(categoryRepository, never()).existsById(anyLong());
+        verify(cacheInvalidationBus, never()).categoryChanged(anyLong());
+    }
+
+    @Test
+    void deleteCategory_ShouldRejectShardedCategory() {
+        when(shardRouter.isShardedCategory(1L)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> categoryService.deleteCategory(1L));
+        verify(postRepository, never()).deletePostsByCategoryId(anyLong());
+        verify(categoryRepository, never()).deleteCategoryById(anyLong());
     }
 }
@@ -0,0 +1,141 @@
+package com.blogapi.service;
+
+import com.blogapi.exception.BadRequestException;
+import com.blogapi.model.dto.CategoryRequest;
+import com.blogapi.model.dto.CommentNodeResponse;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.KeysetPage;
+import com.blogapi.model.dto.PostRequest;
+import com.blogapi.model.entity.CommentPaths;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@SuppressWarnings("null")
+class CommentThreadTest {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CommentPathBackfill commentPathBackfill;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        CategoryRequest categoryRequest = new CategoryRequest();
+        categoryRequest.setName("Threads " + System.nanoTime());
+        Long categoryId = categoryService.createCategory(categoryRequest).id();
+
+        PostRequest postRequest = new PostRequest();
+        postRequest.setTitle("Discussed");
+        postRequest.setContent("A post with replies");
+        postRequest.setAuthor("threader");
+        postRequest.setCategoryId(categoryId);
+        postId = postService.createPost(postRequest).id();
+    }
+
+    @Test
+    void backfill_ShouldGiveLegacyCommentsAPath() {
+        Long legacyId = commentService.addComment(postId, comment("Written before threading")).id();
+        jdbcTemplate.update("UPDATE comments SET path = NULL, depth = NULL WHERE id = ?", legacyId);
+
+        commentPathBackfill.backfill();
+
+        assertEquals(CommentPaths.segment(legacyId),
+                jdbcTemplate.queryForObject("SELECT path FROM comments WHERE id = ?", String.class, legacyId));
+        Long replyId = commentService.addReply(legacyId, comment("Reply")).id();
+        List<CommentNodeResponse> thread = commentService.getPostThread(postId, null, null, 20).content();
+        assertEquals(1, thread.size());
+        assertEquals(legacyId, thread.get(0).id());
+        assertEquals(replyId, thread.get(0).replies().get(0).id());
+    }
+
+    @Test
+    void getPostThread_ShouldPageTopLevelAndLimitRepliesPerComment() {
+        Long first = commentService.addComment(postId, comment("First")).id();
+        Long second = commentService.addComment(postId, comment("Second")).id();
+        Long third = commentService.addComment(postId, comment("Third")).id();
+        Long a = commentService.addReply(first, comment("A")).id();
+        Long b = commentService.addReply(first, comment("B")).id();
+        commentService.addReply(first, comment("C"));
+        Long nested = commentService.addReply(a, comment("Nested")).id();
+
+        KeysetPage<CommentNodeResponse> page = commentService.getPostThread(postId, null, null, 2);
+
+        assertEquals(List.of(first, second), page.content().stream().map(CommentNodeResponse::id).toList());
+        assertEquals(String.valueOf(second), page.nextCursor());
+        CommentNodeResponse firstNode = page.content().get(0);
+        assertTrue(firstNode.moreReplies());
+        assertEquals(List.of(a, b), firstNode.replies().stream().map(CommentNodeResponse::id).toList());
+        assertEquals(nested, firstNode.replies().get(0).replies().get(0).id());
+        assertFalse(page.content().get(1).moreReplies());
+
+        KeysetPage<CommentNodeResponse> next = commentService.getPostThread(postId, null, page.nextCursor(), 2);
+        assertEquals(List.of(third), next.content().stream().map(CommentNodeResponse::id).toList());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void getPostThread_ShouldFlagRepliesBelowTheDepthLimit() {
+        Long root = commentService.addComment(postId, comment("Root")).id();
+        Long a = commentService.addReply(root, comment("A")).id();
+        commentService.addReply(root, comment("B"));
+        commentService.addReply(a, comment("Nested"));
+
+        List<CommentNodeResponse> replies = commentService.getPostThread(postId, 1, null, 20).content().get(0).replies();
+
+        assertTrue(replies.get(0).moreReplies());
+        assertTrue(replies.get(0).replies().isEmpty());
+        assertFalse(replies.get(1).moreReplies());
+    }
+
+    @Test
+    void getCommentThread_ShouldPageDirectReplies() {
+        Long root = commentService.addComment(postId, comment("Root")).id();
+        Long a = commentService.addReply(root, comment("A")).id();
+        Long b = commentService.addReply(root, comment("B")).id();
+        Long c = commentService.addReply(root, comment("C")).id();
+
+        CommentNodeResponse page = commentService.getCommentThread(root, null, null, 2);
+        assertTrue(page.moreReplies());
+        assertEquals(List.of(a, b), page.replies().stream().map(CommentNodeResponse::id).toList());
+
+        CommentNodeResponse next = commentService.getCommentThread(root, null, String.valueOf(b), 2);
+        assertFalse(next.moreReplies());
+        assertEquals(List.of(c), next.replies().stream().map(CommentNodeResponse::id).toList());
+    }
+
+    @Test
+    void getPostThread_ShouldRejectAMalformedCursor() {
+        assertThrows(BadRequestException.class, () -> commentService.getPostThread(postId, null, "abc", 20));
+    }
+
+    private CommentRequest comment(String content) {
+        CommentRequest request = new CommentRequest();
+        request.setContent(content);
+        request.setAuthor("threader");
+        return request;
+    }
+}
@@ -0,0 +1,114 @@
+package com.blogapi.service;
+
+import com.blogapi.cache.CacheInvalidation;
+import com.blogapi.cache.CacheInvalidationBus;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.repository.CategoryRepository;
+import com.blogapi.sharding.ShardedPostQueries;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedSnapshotServiceTest {
+
+    private static final Pageable HOMEPAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    private ShardedPostQueries postQueries;
+    private CategoryRepository categoryRepository;
+    private FeedSnapshotService feedSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        postQueries = mock(ShardedPostQueries.class);
+        categoryRepository = mock(CategoryRepository.class);
+        when(categoryRepository.findIds(any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(postQueries.findAllResponses(any(Pageable.class)))
+                .thenAnswer(invocation -> page(invocation.getArgument(0), 10L, "Global"));
+        when(postQueries.findResponsesByCategoryId(eq(1L), any(Pageable.class)))
+                .thenAnswer(invocation -> page(invocation.getArgument(1), 10L, "First category"));
+        when(postQueries.findResponsesByCategoryId(eq(2L), any(Pageable.class)))
+                .thenAnswer(invocation -> page(invocation.getArgument(1), 20L, "Second category"));
+
+        feedSnapshotService = new FeedSnapshotService(postQueries, categoryRepository,
+                new ObjectMapper().findAndRegisterModules(), mock(CacheInvalidationBus.class),
+                10, 2, 1, 50, 0, 0, 60_000);
+        feedSnapshotService.refreshAll();
+    }
+
+    @Test
+    void find_ShouldServeOnlyPrecomputedPages() {
+        assertNotNull(feedSnapshotService.find(null, HOMEPAGE));
+        assertNotNull(feedSnapshotService.find(2L, HOMEPAGE));
+        assertNull(feedSnapshotService.find(2L, HOMEPAGE.next()));
+        assertNull(feedSnapshotService.find(null, PageRequest.of(0, 20, HOMEPAGE.getSort())));
+        assertNull(feedSnapshotService.find(null, PageRequest.of(0, 10, Sort.by("title"))));
+    }
+
+    @Test
+    void snapshot_ShouldHoldJsonAndItsGzipEncoding() throws IOException {
+        FeedSnapshotService.Snapshot snapshot = feedSnapshotService.find(1L, HOMEPAGE);
+
+        assertTrue(new String(snapshot.json(), StandardCharsets.UTF_8).contains("First category"));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertArrayEquals(snapshot.json(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void refreshIfDue_ShouldRebuildOnlyFeedsOfChangedPosts() {
+        when(postQueries.findCategoryIdsByIdIn(anyCollection())).thenReturn(List.of(2L));
+        clearInvocations(postQueries);
+
+        feedSnapshotService.changed(new CacheInvalidation("node", CacheInvalidation.Type.POST, 21L));
+        feedSnapshotService.changed(new CacheInvalidation("node", CacheInvalidation.Type.POST, 22L));
+        feedSnapshotService.refreshIfDue();
+
+        verify(postQueries, times(2)).findAllResponses(any(Pageable.class));
+        verify(postQueries).findResponsesByCategoryId(eq(2L), any(Pageable.class));
+        verify(postQueries, never()).findResponsesByCategoryId(eq(1L), any(Pageable.class));
+
+        clearInvocations(postQueries);
+        feedSnapshotService.refreshIfDue();
+        verify(postQueries, never()).findAllResponses(any(Pageable.class));
+    }
+
+    @Test
+    void changed_ShouldIgnoreCommentChanges() {
+        clearInvocations(postQueries);
+
+        feedSnapshotService.changed(new CacheInvalidation("node", CacheInvalidation.Type.POST_COMMENTS, 1L));
+        feedSnapshotService.refreshIfDue();
+
+        verify(postQueries, never()).findAllResponses(any(Pageable.class));
+    }
+
+    private PageImpl<PostResponse> page(Pageable pageable, Long postId, String title) {
+        PostResponse post = new PostResponse(postId + pageable.getPageNumber(), title, "Content", "Author", 1L,
+                "Category", null, null, null, null, null, List.of(), 0L);
+        return new PageImpl<>(List.of(post), pageable, 30);
+    }
+}
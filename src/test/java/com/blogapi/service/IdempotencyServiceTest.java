@@ -0,0 +1,119 @@
+package com.blogapi.service;
+
+import com.blogapi.exception.BadRequestException;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.CommentResponse;
+import com.blogapi.model.entity.IdempotencyKey;
+import com.blogapi.repository.IdempotencyKeyRepository;
+import com.blogapi.sharding.ShardRouter;
+import com.blogapi.sharding.ShardingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private IdempotencyService idempotencyService;
+    private CommentRequest commentRequest;
+    private CommentResponse commentResponse;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyKeyRepository, objectMapper,
+                new ShardRouter(new ShardingProperties(), Runnable::run), mock(PlatformTransactionManager.class),
+                Duration.ofHours(24), 100);
+
+        commentRequest = new CommentRequest();
+        commentRequest.setContent("Test Comment");
+        commentRequest.setAuthor("Test Author");
+        commentResponse = new CommentResponse(1L, "Test Comment", "Test Author", null, null, 0);
+    }
+
+    @Test
+    void execute_ShouldRunWriteOnceForRepeatedKey() {
+        when(idempotencyKeyRepository.findById("comments:1:key")).thenReturn(Optional.empty());
+        AtomicInteger writes = new AtomicInteger();
+
+        CommentResponse first = idempotencyService.execute("comments:1", "key", commentRequest, CommentResponse.class,
+                () -> {
+                    writes.incrementAndGet();
+                    return commentResponse;
+                });
+        CommentResponse second = idempotencyService.execute("comments:1", "key", commentRequest, CommentResponse.class,
+                () -> {
+                    writes.incrementAndGet();
+                    return commentResponse;
+                });
+
+        assertEquals(1, writes.get());
+        assertEquals(first, second);
+        verify(idempotencyKeyRepository).saveAndFlush(any(IdempotencyKey.class));
+    }
+
+    @Test
+    void execute_ShouldReplayResponseStoredByAnotherNode() throws Exception {
+        IdempotencyKey stored = new IdempotencyKey("comments:1:key", idempotencyService.fingerprint(commentRequest),
+                objectMapper.writeValueAsString(commentResponse), LocalDateTime.now());
+        when(idempotencyKeyRepository.findById("comments:1:key")).thenReturn(Optional.of(stored));
+
+        CommentResponse response = idempotencyService.execute("comments:1", "key", commentRequest,
+                CommentResponse.class, () -> {
+                    throw new AssertionError("write must not run");
+                });
+
+        assertEquals(commentResponse, response);
+    }
+
+    @Test
+    void execute_ShouldRejectKeyReusedForDifferentRequest() {
+        when(idempotencyKeyRepository.findById("comments:1:key")).thenReturn(Optional.empty());
+        idempotencyService.execute("comments:1", "key", commentRequest, CommentResponse.class, () -> commentResponse);
+
+        CommentRequest other = new CommentRequest();
+        other.setContent("Another Comment");
+        other.setAuthor("Test Author");
+
+        assertThrows(BadRequestException.class, () -> idempotencyService.execute("comments:1", "key", other,
+                CommentResponse.class, () -> commentResponse));
+    }
+
+    @Test
+    void execute_ShouldRejectDifferentRequestWithTheSameHashCode() {
+        when(idempotencyKeyRepository.findById("comments:1:key")).thenReturn(Optional.empty());
+        CommentRequest first = new CommentRequest();
+        first.setContent("Aa");
+        first.setAuthor("Test Author");
+        CommentRequest second = new CommentRequest();
+        second.setContent("BB");
+        second.setAuthor("Test Author");
+        assertEquals(first.hashCode(), second.hashCode());
+
+        idempotencyService.execute("comments:1", "key", first, CommentResponse.class, () -> commentResponse);
+
+        assertThrows(BadRequestException.class, () -> idempotencyService.execute("comments:1", "key", second,
+                CommentResponse.class, () -> commentResponse));
+    }
+}
@@ -0,0 +1,39 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.CommentResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the service through its transactional proxy, so the in-flight key is released by the
+ * transaction synchronization rather than by the non-transactional path.
+ */
+@SpringBootTest
+@SuppressWarnings("null")
+class IdempotencyServiceTransactionTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Test
+    void execute_ShouldAcceptARetryAfterTheWriteFailed() {
+        CommentRequest request = new CommentRequest();
+        request.setContent("Test Comment");
+        request.setAuthor("Test Author");
+        CommentResponse response = new CommentResponse(1L, "Test Comment", "Test Author", null, null, 0);
+        String key = "retry-" + System.nanoTime();
+
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("comments:1", key, request,
+                CommentResponse.class, () -> {
+                    throw new IllegalStateException("write failed");
+                }));
+
+        assertEquals(response, idempotencyService.execute("comments:1", key, request, CommentResponse.class,
+                () -> response));
+    }
+}
@@ -0,0 +1,122 @@
+package com.blogapi.service;
+
+import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.dto.CategoryRequest;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.CommentResponse;
+import com.blogapi.model.dto.PostRequest;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.repository.ArchivedPostRepository;
+import com.blogapi.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@SuppressWarnings("null")
+class PostArchiverTest {
+
+    private static final LocalDateTime OLD = LocalDateTime.of(1990, 1, 1, 0, 0);
+
+    @Autowired
+    private PostArchiver postArchiver;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ArchivedPostRepository archivedPostRepository;
+
+    @Autowired
+    private TrendingPostTracker trendingPostTracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        CategoryRequest categoryRequest = new CategoryRequest();
+        categoryRequest.setName("Archive " + System.nanoTime());
+        Long categoryId = categoryService.createCategory(categoryRequest).id();
+
+        PostRequest postRequest = new PostRequest();
+        postRequest.setTitle("Old news");
+        postRequest.setContent("Body that " + "outlives the hot tables. ".repeat(100));
+        postRequest.setAuthor("archivist");
+        postRequest.setCategoryId(categoryId);
+        postId = postService.createPost(postRequest).id();
+
+        CommentRequest commentRequest = new CommentRequest();
+        commentRequest.setContent("First!");
+        commentRequest.setAuthor("reader");
+        Long commentId = commentService.addComment(postId, commentRequest).id();
+        commentService.addReply(commentId, commentRequest);
+
+        jdbcTemplate.update("UPDATE posts SET created_at = ? WHERE id = ?", Timestamp.valueOf(OLD), postId);
+    }
+
+    @Test
+    void archive_ShouldMovePostAndCommentsAndKeepThemReadable() {
+        PostResponse before = postService.getPostById(postId);
+
+        int archived = postArchiver.archive(OLD.plusDays(1));
+
+        assertTrue(archived >= 1);
+        assertFalse(postRepository.existsById(postId));
+        assertTrue(archivedPostRepository.existsById(postId));
+        PostResponse after = postService.getPostById(postId);
+        assertEquals(before.content(), after.content());
+        assertEquals(before.categoryName(), after.categoryName());
+        List<CommentResponse> comments = commentService.getCommentsByPostId(postId);
+        assertEquals(2, comments.size());
+        assertEquals(1, comments.stream().filter(comment -> comment.depth() == 1).count());
+    }
+
+    @Test
+    void archive_ShouldDropPostFromTrending() {
+        assertTrue(trendingPostTracker.isTracked(postId));
+
+        postArchiver.archive(OLD.plusDays(1));
+
+        assertFalse(trendingPostTracker.isTracked(postId));
+    }
+
+    @Test
+    void archive_ShouldLeaveNewerPosts() {
+        postArchiver.archive(OLD.minusDays(1));
+
+        assertTrue(postRepository.existsById(postId));
+    }
+
+    @Test
+    void deletePost_ShouldRemoveArchivedPost() {
+        postArchiver.archive(OLD.plusDays(1));
+
+        postService.deletePost(postId);
+
+        assertThrows(ResourceNotFoundException.class, () -> postService.getPostById(postId));
+        assertThrows(ResourceNotFoundException.class, () -> commentService.getCommentsByPostId(postId));
+    }
+}
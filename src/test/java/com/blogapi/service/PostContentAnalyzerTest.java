@@ -0,0 +1,52 @@
+package com.blogapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostContentAnalyzerTest {
+
+    private final PostContentAnalyzer analyzer = new PostContentAnalyzer();
+
+    @Test
+    void analyze_ShouldCountWordsAndReadingTime() {
+        PostContentAnalyzer.Analysis analysis = analyzer.analyze("word ".repeat(450));
+
+        assertEquals(450, analysis.getWordCount());
+        assertEquals(3, analysis.getReadingTimeMinutes());
+    }
+
+    @Test
+    void analyze_ShouldCollapseWhitespaceInExcerpt() {
+        PostContentAnalyzer.Analysis analysis = analyzer.analyze("  Hello \n\n  Spring\tBoot  ");
+
+        assertEquals("Hello Spring Boot", analysis.getExcerpt());
+    }
+
+    @Test
+    void analyze_ShouldTruncateLongExcerptAtWordBoundary() {
+        PostContentAnalyzer.Analysis analysis = analyzer.analyze("lorem ipsum ".repeat(100));
+
+        assertTrue(analysis.getExcerpt().endsWith("..."));
+        assertTrue(analysis.getExcerpt().length() <= PostContentAnalyzer.EXCERPT_LENGTH + 3);
+        assertTrue(analysis.getExcerpt().startsWith("lorem ipsum lorem"));
+    }
+
+    @Test
+    void analyze_ShouldNormalizeHashtags() {
+        PostContentAnalyzer.Analysis analysis = analyzer.analyze("Notes on #Java and #spring-boot, again #JAVA. mail@#x");
+
+        assertEquals("java,spring-boot", analysis.getTags());
+    }
+
+    @Test
+    void analyze_ShouldHandleEmptyContent() {
+        PostContentAnalyzer.Analysis analysis = analyzer.analyze("");
+
+        assertEquals(0, analysis.getWordCount());
+        assertEquals(0, analysis.getReadingTimeMinutes());
+        assertEquals("", analysis.getExcerpt());
+        assertEquals("", analysis.getTags());
+    }
+}
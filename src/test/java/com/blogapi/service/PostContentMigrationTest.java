@@ -0,0 +1,87 @@
+package com.blogapi.service;
+
+import com.blogapi.model.entity.PostContentConverter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Starts from a schema that still has the legacy, non-null {@code posts.content} column, on a pool
+ * without auto-commit like the prod profile.
+ */
+class PostContentMigrationTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private AtomicInteger commits;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:legacy-posts-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setAutoCommit(false);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        commits = new AtomicInteger();
+        transactionManager = new DataSourceTransactionManager(dataSource) {
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+                super.doCommit(status);
+                commits.incrementAndGet();
+            }
+        };
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE posts (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                    + "content VARCHAR(100000) NOT NULL)");
+            jdbcTemplate.execute("CREATE TABLE post_contents (post_id BIGINT PRIMARY KEY "
+                    + "REFERENCES posts (id) ON DELETE CASCADE, body VARBINARY(1000000) NOT NULL)");
+            jdbcTemplate.update("INSERT INTO posts (id, title, content) VALUES (1, 'One', 'First body')");
+            jdbcTemplate.update("INSERT INTO posts (id, title, content) VALUES (2, 'Two', ?)", "Long. ".repeat(500));
+            jdbcTemplate.update("INSERT INTO posts (id, title, content) VALUES (3, 'Three', 'Third body')");
+        });
+        commits.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void migrate_ShouldMoveBodiesAndCommitTheColumnDrop() {
+        new PostContentMigration(jdbcTemplate, transactionManager, null, 2).migrate();
+
+        // Two copy batches, then the drop
+        assertEquals(3, commits.get());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE LOWER(table_name) = 'posts' AND LOWER(column_name) = 'content'", Long.class));
+        assertEquals("Long. ".repeat(500), PostContentConverter.decode(jdbcTemplate.queryForObject(
+                "SELECT body FROM post_contents WHERE post_id = 2", byte[].class)));
+
+        // New posts no longer write the column
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("INSERT INTO posts (id, title) VALUES (4, 'Four')"));
+    }
+
+    @Test
+    void migrate_ShouldDoNothingWithoutTheLegacyColumn() {
+        PostContentMigration migration = new PostContentMigration(jdbcTemplate, transactionManager, null, 2);
+        migration.migrate();
+        commits.set(0);
+
+        migration.migrate();
+
+        assertEquals(0, commits.get());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_contents", Long.class));
+    }
+}
@@ -0,0 +1,107 @@
+package com.blogapi.service;
+
+import com.blogapi.repository.PostRepository;
+import com.blogapi.sharding.ShardRouter;
+import com.blogapi.sharding.ShardingProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({"null", "unchecked"})
+class PostCountEstimatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Test
+    void countPosts_ShouldCountOnceAndReuseTheCount() {
+        database("H2");
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class)).thenReturn(42L);
+        PostCountEstimator estimator = estimator(60_000);
+
+        assertEquals(42, estimator.countPosts());
+        assertEquals(42, estimator.countPosts());
+
+        verify(jdbcTemplate, times(1)).queryForObject("SELECT COUNT(*) FROM posts", Long.class);
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void countPosts_ShouldUseThePlannerEstimateOnPostgres() {
+        database("PostgreSQL");
+        when(jdbcTemplate.queryForList(startsWith("SELECT CAST(reltuples"), eq(Long.class))).thenReturn(List.of(1_000L));
+
+        assertEquals(1_000, estimator(60_000).countPosts());
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void countPosts_ShouldCountWhenPostgresHasNotAnalyzedTheTable() {
+        database("PostgreSQL");
+        when(jdbcTemplate.queryForList(startsWith("SELECT CAST(reltuples"), eq(Long.class))).thenReturn(List.of(-1L));
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class)).thenReturn(7L);
+
+        assertEquals(7, estimator(60_000).countPosts());
+    }
+
+    @Test
+    void refresh_ShouldReplaceTheGlobalCount() {
+        database("H2");
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class)).thenReturn(42L, 50L);
+        PostCountEstimator estimator = estimator(60_000);
+        estimator.countPosts();
+
+        estimator.refresh();
+
+        assertEquals(50, estimator.countPosts());
+    }
+
+    @Test
+    void countPostsInCategory_ShouldReuseTheCountWithinTheInterval() {
+        when(postRepository.countByCategoryId(1L)).thenReturn(5L);
+        PostCountEstimator estimator = estimator(60_000);
+
+        assertEquals(5, estimator.countPostsInCategory(1L));
+        assertEquals(5, estimator.countPostsInCategory(1L));
+
+        verify(postRepository, times(1)).countByCategoryId(1L);
+    }
+
+    @Test
+    void countPostsInCategory_ShouldRecountOnceTheIntervalHasPassed() {
+        when(postRepository.countByCategoryId(1L)).thenReturn(5L, 6L);
+        PostCountEstimator estimator = estimator(-1);
+
+        assertEquals(5, estimator.countPostsInCategory(1L));
+        assertEquals(6, estimator.countPostsInCategory(1L));
+    }
+
+    private void database(String product) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(product);
+    }
+
+    private PostCountEstimator estimator(long refreshInterval) {
+        return new PostCountEstimator(jdbcTemplate, postRepository,
+                new ShardRouter(new ShardingProperties(), Runnable::run), refreshInterval);
+    }
+}
@@ -0,0 +1,98 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.CategoryRequest;
+import com.blogapi.model.dto.PostRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the pipeline on a pool without auto-commit, like the prod profile, so derived fields only
+ * show up if their writes are committed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.auto-commit=false",
+        "spring.jpa.properties.hibernate.connection.provider_disables_autocommit=true",
+        "blog.processing.backfill.on-startup=false"
+})
+@SuppressWarnings("null")
+class PostProcessingServiceTest {
+
+    private static final String CONTENT = "Spring caching keeps the feed fast. ".repeat(60);
+
+    @Autowired
+    private PostProcessingService postProcessingService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        CategoryRequest categoryRequest = new CategoryRequest();
+        categoryRequest.setName("Processing " + System.nanoTime());
+        Long categoryId = categoryService.createCategory(categoryRequest).id();
+
+        PostRequest postRequest = new PostRequest();
+        postRequest.setTitle("Processed");
+        postRequest.setContent(CONTENT);
+        postRequest.setAuthor("processor");
+        postRequest.setCategoryId(categoryId);
+        postId = postService.createPost(postRequest).id();
+    }
+
+    @Test
+    void createPost_ShouldPersistDerivedFields() throws InterruptedException {
+        Map<String, Object> row = awaitProcessed();
+
+        assertNotNull(row.get("processed_at"));
+        assertNotNull(row.get("excerpt"));
+        assertEquals(360, ((Number) row.get("word_count")).intValue());
+    }
+
+    @Test
+    void backfill_ShouldPersistDerivedFieldsOfUnprocessedPosts() throws InterruptedException {
+        awaitProcessed();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE posts SET excerpt = NULL, word_count = NULL, processed_at = NULL WHERE id = ?", postId));
+
+        assertTrue(postProcessingService.backfill() >= 1);
+
+        Map<String, Object> row = derivedFields();
+        assertNotNull(row.get("processed_at"));
+        assertEquals(360, ((Number) row.get("word_count")).intValue());
+    }
+
+    private Map<String, Object> awaitProcessed() throws InterruptedException {
+        Map<String, Object> row = derivedFields();
+        for (int attempt = 0; attempt < 100 && row.get("processed_at") == null; attempt++) {
+            Thread.sleep(50);
+            row = derivedFields();
+        }
+        return row;
+    }
+
+    private Map<String, Object> derivedFields() {
+        return jdbcTemplate.queryForMap("SELECT excerpt, word_count, processed_at FROM posts WHERE id = ?", postId);
+    }
+}
@@ -0,0 +1,90 @@
+package com.blogapi.service;
+
+import com.blogapi.exception.BadRequestException;
+import com.blogapi.model.dto.PostSearchRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PostQueryPlannerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PostQueryPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        planner = new PostQueryPlanner(meterRegistry, 1000, 200);
+    }
+
+    @Test
+    void plan_ShouldDefaultToNewestFirstWithIdTieBreaker() {
+        PostQueryPlanner.Plan plan = planner.plan(new PostSearchRequest(), PageRequest.of(0, 20));
+
+        assertEquals(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")), plan.pageable().getSort());
+        assertEquals("all/createdAt,desc", plan.shape());
+    }
+
+    @Test
+    void plan_ShouldCapPageSizeAndDescribeShape() {
+        PostSearchRequest request = new PostSearchRequest();
+        request.setCategory(List.of(1L, 2L));
+        request.setAuthor("alice");
+        request.setQ("Spring");
+
+        PostQueryPlanner.Plan plan = planner.plan(request, PageRequest.of(0, 500, Sort.by("title")));
+
+        assertEquals(PostQueryPlanner.MAX_PAGE_SIZE, plan.pageable().getPageSize());
+        assertEquals(Sort.by(Sort.Order.asc("title"), Sort.Order.asc("id")), plan.pageable().getSort());
+        assertEquals("categories+author+prefix/title,asc", plan.shape());
+    }
+
+    @Test
+    void plan_ShouldRefuseUnindexedSort() {
+        assertThrows(BadRequestException.class,
+                () -> planner.plan(new PostSearchRequest(), PageRequest.of(0, 20, Sort.by("content"))));
+    }
+
+    @Test
+    void plan_ShouldRefuseTitleSortWithoutPrefix() {
+        assertThrows(BadRequestException.class,
+                () -> planner.plan(new PostSearchRequest(), PageRequest.of(0, 20, Sort.by("title"))));
+    }
+
+    @Test
+    void plan_ShouldRefuseShortPrefixAndEmptyRange() {
+        PostSearchRequest shortPrefix = new PostSearchRequest();
+        shortPrefix.setQ("ab");
+        assertThrows(BadRequestException.class, () -> planner.plan(shortPrefix, PageRequest.of(0, 20)));
+
+        PostSearchRequest emptyRange = new PostSearchRequest();
+        LocalDateTime now = LocalDateTime.now();
+        emptyRange.setFrom(now);
+        emptyRange.setTo(now);
+        assertThrows(BadRequestException.class, () -> planner.plan(emptyRange, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void plan_ShouldRefuseDeepOffsets() {
+        assertThrows(BadRequestException.class,
+                () -> planner.plan(new PostSearchRequest(), PageRequest.of(51, 20)));
+    }
+
+    @Test
+    void observe_ShouldTimeByShape() {
+        PostQueryPlanner.Plan plan = planner.plan(new PostSearchRequest(), PageRequest.of(0, 20));
+
+        planner.observe(plan, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(1, meterRegistry.get("blog.posts.search").tag("shape", "all/createdAt,desc").timer().count());
+    }
+}
@@ -0,0 +1,63 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.PostResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostServiceTest {
+
+    private static final LongSupplier NOT_CALLED = () -> {
+        throw new AssertionError("The last page needs no estimate");
+    };
+
+    @Test
+    void withTotal_ShouldReportTheEstimate() {
+        Page<PostResponse> page = PostService.withTotal(slice(PageRequest.of(0, 10), 10, true), () -> 100);
+
+        assertEquals(100, page.getTotalElements());
+        assertEquals(10, page.getTotalPages());
+    }
+
+    @Test
+    void withTotal_ShouldNotReportLessThanTheRowsSeen() {
+        Page<PostResponse> page = PostService.withTotal(slice(PageRequest.of(2, 10), 10, true), () -> 5);
+
+        // Thirty rows seen and at least one more
+        assertEquals(31, page.getTotalElements());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void withTotal_ShouldCountTheLastPageExactly() {
+        Page<PostResponse> page = PostService.withTotal(slice(PageRequest.of(2, 10), 4, false), NOT_CALLED);
+
+        assertEquals(24, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
+
+    @Test
+    void withTotal_ShouldCountAnUnpagedSlice() {
+        Page<PostResponse> page = PostService.withTotal(slice(Pageable.unpaged(), 3, false), NOT_CALLED);
+
+        assertEquals(3, page.getTotalElements());
+    }
+
+    private SliceImpl<PostResponse> slice(Pageable pageable, int rows, boolean hasNext) {
+        List<PostResponse> content = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            content.add(new PostResponse(id, "Post " + id, null, "author", 1L, "Category", null, null, null,
+                    null, null, (String) null, 0L));
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
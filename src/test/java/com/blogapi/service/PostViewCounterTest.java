@@ -0,0 +1,101 @@
+package com.blogapi.service;
+
+import com.blogapi.model.entity.PostView;
+import com.blogapi.repository.PostViewRepository;
+import com.blogapi.sharding.ShardRouter;
+import com.blogapi.sharding.ShardingProperties;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({"null", "unchecked"})
+class PostViewCounterTest {
+
+    @Mock
+    private PostViewRepository postViewRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    private PostViewCounter postViewCounter;
+
+    @BeforeEach
+    void setUp() {
+        postViewCounter = new PostViewCounter(postViewRepository, jdbcTemplate, transactionManager,
+                entityManagerFactory, new ShardRouter(new ShardingProperties(), Runnable::run));
+    }
+
+    @Test
+    void getViewCount_ShouldAddPendingViewsToPersistedCount() {
+        when(postViewRepository.findById(1L)).thenReturn(Optional.of(new PostView(1L, 10)));
+
+        postViewCounter.record(1L);
+        postViewCounter.record(1L);
+
+        assertEquals(12, postViewCounter.getViewCount(1L));
+    }
+
+    @Test
+    void flush_ShouldUpdateExistingRowsAndInsertNewOnes() {
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {0});
+        postViewCounter.record(1L);
+        postViewCounter.record(1L);
+        postViewCounter.record(1L);
+
+        postViewCounter.flush();
+
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE"), anyList());
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), inserts.capture());
+        assertArrayEquals(new Object[] {1L, 3L, 1L, 1L}, inserts.getValue().get(0));
+        verify(cache).evict(PostView.class, 1L);
+    }
+
+    @Test
+    void flush_ShouldSkipDatabaseWhenNothingWasViewed() {
+        postViewCounter.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void removeAll_ShouldDropPendingViewsAndStoredCounts() {
+        postViewCounter.record(1L);
+
+        postViewCounter.removeAll(List.of(1L, 2L));
+        postViewCounter.flush();
+
+        verify(postViewRepository).deleteByPostIds(List.of(1L, 2L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
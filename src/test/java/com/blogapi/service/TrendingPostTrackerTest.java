@@ -0,0 +1,157 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.TrendingPostResponse;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.sharding.ShardRouter;
+import com.blogapi.sharding.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class TrendingPostTrackerTest {
+
+    private MutableClock clock;
+    private TrendingPostTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T12:00:00Z"));
+        tracker = new TrendingPostTracker(mock(CommentRepository.class),
+                new ShardRouter(new ShardingProperties(), Runnable::run), Duration.ofHours(4), 4, 2, clock);
+    }
+
+    @Test
+    void getTrending_ShouldRankByCommentCount() {
+        record(1L, 1);
+        record(2L, 3);
+        record(3L, 2);
+
+        List<TrendingPostResponse> trending = tracker.getTrending(10);
+
+        assertEquals(2, trending.size());
+        assertEquals(2L, trending.get(0).postId());
+        assertEquals(3, trending.get(0).commentCount());
+        assertEquals(3L, trending.get(1).postId());
+    }
+
+    @Test
+    void getTrending_ShouldDropCommentsOutsideWindow() {
+        record(1L, 3);
+        clock.advance(Duration.ofHours(2));
+        record(2L, 2);
+
+        clock.advance(Duration.ofHours(3));
+        List<TrendingPostResponse> trending = tracker.getTrending(10);
+
+        assertEquals(1, trending.size());
+        assertEquals(2L, trending.get(0).postId());
+        assertEquals(2, trending.get(0).commentCount());
+    }
+
+    @Test
+    void remove_ShouldEvictDeletedPost() {
+        record(1L, 2);
+        record(2L, 1);
+
+        tracker.remove(1L);
+
+        List<TrendingPostResponse> trending = tracker.getTrending(10);
+        assertEquals(1, trending.size());
+        assertEquals(2L, trending.get(0).postId());
+    }
+
+    @Test
+    void removeComment_ShouldTakeBackADeletedComment() {
+        record(1L, 2);
+        record(2L, 2);
+
+        tracker.removeComment(1L, LocalDateTime.now(clock));
+
+        List<TrendingPostResponse> trending = tracker.getTrending(10);
+        assertEquals(2L, trending.get(0).postId());
+        assertEquals(1L, trending.get(1).postId());
+        assertEquals(1, trending.get(1).commentCount());
+    }
+
+    @Test
+    void removeComment_ShouldIgnoreCommentsOutsideWindow() {
+        record(1L, 1);
+        LocalDateTime expired = LocalDateTime.now(clock).minusHours(5);
+
+        tracker.removeComment(1L, expired);
+
+        assertEquals(1, tracker.getTrending(10).get(0).commentCount());
+    }
+
+    @Test
+    void removeComments_ShouldTakeBackADeletedSubtree() {
+        record(1L, 3);
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        tracker.removeComments(1L, List.of(now, now, now.minusHours(5)));
+
+        assertEquals(1, tracker.getTrending(10).get(0).commentCount());
+    }
+
+    @Test
+    void isTracked_ShouldForgetPostsOnceTheirCommentsExpire() {
+        record(1L, 1);
+        assertTrue(tracker.isTracked(1L));
+
+        clock.advance(Duration.ofHours(5));
+
+        assertFalse(tracker.isTracked(1L));
+    }
+
+    @Test
+    void record_ShouldIgnoreCommentsOlderThanWindow() {
+        tracker.record(1L, LocalDateTime.now(clock).minusHours(5));
+
+        assertTrue(tracker.getTrending(10).isEmpty());
+    }
+
+    private void record(Long postId, int comments) {
+        for (int i = 0; i < comments; i++) {
+            tracker.record(postId, LocalDateTime.now(clock));
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
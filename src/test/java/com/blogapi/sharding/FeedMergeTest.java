@@ -0,0 +1,34 @@
+package com.blogapi.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FeedMergeTest {
+
+    private static final Comparator<Integer> DESCENDING = Comparator.reverseOrder();
+
+    @Test
+    void merge_ShouldInterleaveSortedLists() {
+        List<Integer> merged = FeedMerge.merge(List.of(List.of(9, 6, 1), List.of(8, 7, 2), List.of(5)),
+                DESCENDING, 0, 10);
+
+        assertEquals(List.of(9, 8, 7, 6, 5, 2, 1), merged);
+    }
+
+    @Test
+    void merge_ShouldSkipToThePage() {
+        List<Integer> merged = FeedMerge.merge(List.of(List.of(9, 6, 1), List.of(8, 7, 2)), DESCENDING, 2, 3);
+
+        assertEquals(List.of(7, 6, 2), merged);
+    }
+
+    @Test
+    void merge_ShouldHandleEmptyAndExhaustedLists() {
+        assertEquals(List.of(), FeedMerge.merge(List.<List<Integer>>of(List.of(), List.of()), DESCENDING, 0, 5));
+        assertEquals(List.of(), FeedMerge.merge(List.of(List.of(3, 2)), DESCENDING, 5, 5));
+    }
+}
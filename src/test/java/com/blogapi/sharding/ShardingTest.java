@@ -0,0 +1,163 @@
+package com.blogapi.sharding;
+
+import com.blogapi.exception.BadRequestException;
+import com.blogapi.exception.ConflictException;
+import com.blogapi.model.dto.CategoryRequest;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.CommentResponse;
+import com.blogapi.model.dto.PostRequest;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.service.CategoryService;
+import com.blogapi.service.CommentService;
+import com.blogapi.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two in-memory H2 databases: the usual default shard and a
+ * {@code community} shard that owns one category.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=false",
+        "blog.warmup.enabled=false",
+        "blog.sharding.enabled=true",
+        "blog.sharding.shards[0].name=community",
+        "blog.sharding.shards[0].url=jdbc:h2:mem:shard-community;DB_CLOSE_DELAY=-1",
+        "blog.sharding.shards[0].username=sa",
+        "blog.sharding.shards[0].password=",
+        "blog.sharding.categories[" + ShardingTest.SHARDED_CATEGORY + "]=community"
+})
+@AutoConfigureMockMvc
+@SuppressWarnings("null")
+class ShardingTest {
+
+    static final long SHARDED_CATEGORY = 900_001L;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private JdbcTemplate defaultShard;
+    private JdbcTemplate communityShard;
+    private Long localCategory;
+
+    @BeforeEach
+    void setUp() {
+        ShardRoutingDataSource shards = ShardRoutingDataSource.of(dataSource);
+        defaultShard = new JdbcTemplate(shards.shard(ShardRouter.DEFAULT_SHARD));
+        communityShard = new JdbcTemplate(shards.shard("community"));
+        // Categories are created on the default shard; the sharded one needs its configured id
+        defaultShard.update("MERGE INTO categories (id, name, description) KEY (id) VALUES (?, ?, ?)",
+                SHARDED_CATEGORY, "Community", "Lives on its own shard");
+
+        CategoryRequest categoryRequest = new CategoryRequest();
+        categoryRequest.setName("Local " + System.nanoTime());
+        localCategory = categoryService.createCategory(categoryRequest).id();
+    }
+
+    @Test
+    void createPost_ShouldWriteToTheCategoryShard() {
+        PostResponse post = postService.createPost(postRequest(SHARDED_CATEGORY, "Sharded"));
+
+        assertTrue(post.id() >= ShardRouter.ID_RANGE);
+        assertEquals(1, count(communityShard, post.id()));
+        assertEquals(0, count(defaultShard, post.id()));
+        PostResponse loaded = postService.getPostById(post.id());
+        assertEquals("Sharded", loaded.title());
+        assertEquals("Community", loaded.categoryName());
+    }
+
+    @Test
+    void comments_ShouldFollowTheirPost() {
+        Long postId = postService.createPost(postRequest(SHARDED_CATEGORY, "Discussed")).id();
+
+        CommentResponse comment = commentService.addComment(postId, comment());
+        commentService.addReply(comment.id(), comment());
+
+        assertTrue(comment.id() >= ShardRouter.ID_RANGE);
+        List<CommentResponse> comments = commentService.getCommentsByPostId(postId);
+        assertEquals(2, comments.size());
+    }
+
+    @Test
+    void getAllPosts_ShouldMergeShardsByCreatedAt() {
+        Long local = postService.createPost(postRequest(localCategory, "Local")).id();
+        Long sharded = postService.createPost(postRequest(SHARDED_CATEGORY, "Remote")).id();
+
+        Page<PostResponse> page = postService.getAllPosts(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertEquals(List.of(sharded, local), page.map(PostResponse::id).getContent());
+        long total = defaultShard.queryForObject("SELECT COUNT(*) FROM posts", Long.class)
+                + communityShard.queryForObject("SELECT COUNT(*) FROM posts", Long.class);
+        assertEquals(total, page.getTotalElements());
+        assertThrows(BadRequestException.class, () -> postService.getAllPosts(PageRequest.of(0, 2, Sort.by("title"))));
+    }
+
+    @Test
+    void idempotentCreate_ShouldRunOnTheCategoryShard() throws Exception {
+        mockMvc.perform(post("/api/posts")
+                        .header("Idempotency-Key", "shard-" + System.nanoTime())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Retried\",\"content\":\"Safe to retry\",\"author\":\"alice\","
+                                + "\"categoryId\":" + SHARDED_CATEGORY + "}"))
+                .andExpect(status().isCreated());
+
+        assertEquals(1, communityShard.queryForObject(
+                "SELECT COUNT(*) FROM posts WHERE title = 'Retried'", Long.class));
+    }
+
+    @Test
+    void deleteCategory_ShouldRefuseShardedCategory() {
+        assertThrows(ConflictException.class, () -> categoryService.deleteCategory(SHARDED_CATEGORY));
+    }
+
+    private long count(JdbcTemplate shard, Long postId) {
+        return shard.queryForObject("SELECT COUNT(*) FROM posts WHERE id = ?", Long.class, postId);
+    }
+
+    private static PostRequest postRequest(Long categoryId, String title) {
+        PostRequest request = new PostRequest();
+        request.setTitle(title);
+        request.setContent("Body of " + title);
+        request.setAuthor("sharder");
+        request.setCategoryId(categoryId);
+        return request;
+    }
+
+    private static CommentRequest comment() {
+        CommentRequest request = new CommentRequest();
+        request.setContent("On the same shard");
+        request.setAuthor("reader");
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package com.blogapi.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracingFilterTest {
+
+    @Test
+    void doFilter_ShouldKeepSlowRequestWithItsSpans() throws Exception {
+        SlowRequestLog slowRequestLog = new SlowRequestLog(10);
+        TracingFilter filter = new TracingFilter(slowRequestLog, 0, 200);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/1/comments");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestTrace trace = RequestTracer.current();
+            long start = System.nanoTime();
+            trace.add(RequestTrace.Kind.SQL, "select count(*) from posts where id=?", start, start + 1_000_000);
+            trace.add(RequestTrace.Kind.SQL, "select * from comments where post_id=?", start, start + 2_000_000);
+            trace.handlerReturned(System.nanoTime());
+        });
+
+        List<SlowRequest> recent = slowRequestLog.recent();
+        assertEquals(1, recent.size());
+        SlowRequest slow = recent.get(0);
+        assertEquals("/api/posts/1/comments", slow.path());
+        assertEquals(2, slow.sqlStatements());
+        assertEquals(3.0, slow.sqlMillis());
+        assertTrue(slow.spans().stream().anyMatch(span -> span.kind().equals("SERIALIZATION")));
+        assertNull(RequestTracer.current());
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreFastRequests() throws Exception {
+        SlowRequestLog slowRequestLog = new SlowRequestLog(10);
+        TracingFilter filter = new TracingFilter(slowRequestLog, 60_000, 200);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        assertTrue(slowRequestLog.recent().isEmpty());
+    }
+
+    @Test
+    void add_ShouldCountSpansBeyondLimit() {
+        RequestTrace trace = new RequestTrace("GET", "/api/posts", 2);
+        for (int i = 0; i < 5; i++) {
+            trace.add(RequestTrace.Kind.SQL, "select 1", 0, 1);
+        }
+
+        assertEquals(2, trace.spans().size());
+        assertEquals(3, trace.droppedSpans());
+        assertEquals(5, trace.sqlStatements());
+    }
+
+    @Test
+    void recent_ShouldReturnNewestFirstAndOverwriteOldest() {
+        SlowRequestLog slowRequestLog = new SlowRequestLog(2);
+        for (int i = 1; i <= 3; i++) {
+            slowRequestLog.add(SlowRequest.of(new RequestTrace("GET", "/api/posts/" + i, 10), 200, 0));
+        }
+
+        List<SlowRequest> recent = slowRequestLog.recent();
+        assertEquals(2, recent.size());
+        assertEquals("/api/posts/3", recent.get(0).path());
+        assertEquals("/api/posts/2", recent.get(1).path());
+    }
+}